@@ -0,0 +1,11 @@
+package io.preboot.query;
+
+import java.util.Map;
+
+/**
+ * One group of an aggregation.
+ *
+ * @param keys group key values by group field
+ * @param metrics metric values by {@link AggregationSpec.Metric#name()}
+ */
+public record AggregationRow(Map<String, Object> keys, Map<String, Object> metrics) {}
@@ -0,0 +1,101 @@
+package io.preboot.query;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Builder;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Grouped aggregation over the rows matching a search, evaluated by the database. Groups and metric fields are root
+ * properties or properties of aggregate references ({@code category.name}); collection properties are not supported.
+ *
+ * @param groupBy group keys; empty for a single row over all matching rows
+ * @param metrics computed values per group; empty means a row count
+ * @param orderBy group field or metric name ({@link Metric#name()}) to order by; groups are ordered by their keys when
+ *     not set
+ * @param orderDirection defaults to ascending
+ * @param limit maximum number of groups returned, e.g. for a top-N by a metric
+ */
+@Builder
+public record AggregationSpec(
+        List<GroupBy> groupBy, List<Metric> metrics, String orderBy, Sort.Direction orderDirection, Integer limit) {
+
+    public List<GroupBy> groupBy() {
+        return groupBy != null ? groupBy : List.of();
+    }
+
+    public List<Metric> metrics() {
+        return metrics != null && !metrics.isEmpty() ? metrics : List.of(Metric.count());
+    }
+
+    public enum Function {
+        COUNT,
+        COUNT_DISTINCT,
+        SUM,
+        AVG,
+        MIN,
+        MAX
+    }
+
+    /** Truncation applied to a temporal group key, rendered as {@code date_trunc}. */
+    public enum DateBucket {
+        MINUTE,
+        HOUR,
+        DAY,
+        WEEK,
+        MONTH,
+        QUARTER,
+        YEAR
+    }
+
+    /**
+     * Group key over a field, optionally truncated to a date bucket or rounded down to a multiple of a histogram
+     * interval.
+     */
+    public record GroupBy(String field, DateBucket dateBucket, BigDecimal histogramInterval) {
+        public static GroupBy of(String field) {
+            return new GroupBy(field, null, null);
+        }
+
+        public static GroupBy byDate(String field, DateBucket dateBucket) {
+            return new GroupBy(field, dateBucket, null);
+        }
+
+        public static GroupBy histogram(String field, BigDecimal interval) {
+            return new GroupBy(field, null, interval);
+        }
+    }
+
+    /** Aggregate function over a field; {@code COUNT} without a field counts rows. */
+    public record Metric(Function function, String field) {
+        public static Metric count() {
+            return new Metric(Function.COUNT, null);
+        }
+
+        public static Metric countDistinct(String field) {
+            return new Metric(Function.COUNT_DISTINCT, field);
+        }
+
+        public static Metric sum(String field) {
+            return new Metric(Function.SUM, field);
+        }
+
+        public static Metric avg(String field) {
+            return new Metric(Function.AVG, field);
+        }
+
+        public static Metric min(String field) {
+            return new Metric(Function.MIN, field);
+        }
+
+        public static Metric max(String field) {
+            return new Metric(Function.MAX, field);
+        }
+
+        /** Key of the metric in {@link AggregationRow#metrics()}, e.g. {@code count} or {@code sum_amount}. */
+        public String name() {
+            String function = this.function.name().toLowerCase();
+            return field == null ? function : function + "_" + field;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.preboot.query;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables the query result cache for an aggregate. {@code findAll}, {@code findAllProjectedBy} and {@code count} with
+ * {@link SearchParams} are served from a cache keyed by the normalized search parameters and the tenant scope of the
+ * repository. Any write of the aggregate through a filterable repository invalidates the entries of its tenant and the
+ * tenant-independent ones.
+ *
+ * <p>Meant for small, read-heavy lookup aggregates. Cached entities are shared between callers and must not be
+ * modified.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedQueries {
+    /** Maximum number of cached results; least recently used entries are evicted first. */
+    int maxSize() default 1000;
+
+    /** Time after which a cached result is reloaded, in seconds. */
+    long ttlSeconds() default 60;
+}
@@ -0,0 +1,68 @@
+package io.preboot.query;
+
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+
+/**
+ * Renders predicates on a collection path as a correlated {@code EXISTS} subquery instead of joining the collection
+ * table to the base query. The subquery uses the same {@code <prefix>_table} and aggregate reference aliases a join
+ * would, so column references rendered by {@link SimpleExpression} stay valid inside it, and the base query never
+ * needs DISTINCT to undo row multiplication.
+ */
+final class CollectionSemiJoin {
+    private CollectionSemiJoin() {}
+
+    /** @return the collection property filtered by a nested field such as {@code items.name}, or {@code null} */
+    static RelationalPersistentProperty findCollection(SqlContext context, String field) {
+        if (field == null || !context.propertyResolver().isNestedProperty(field)) {
+            return null;
+        }
+        RelationalPersistentProperty property = context.entity().getPersistentProperty(field.split("\\.")[0]);
+        return property != null && property.isCollectionLike() ? property : null;
+    }
+
+    /**
+     * @param condition predicate over the collection row (and its aggregate reference); all parts of it are matched
+     *     against the same child row
+     */
+    static String exists(SqlContext context, RelationalPersistentProperty collection, String condition) {
+        RelationalPersistentEntity<?> collectionEntity =
+                context.propertyResolver().getNestedEntity(context.entity(), collection.getName());
+        String alias = collection.getName() + "_table";
+
+        StringBuilder sql = new StringBuilder("EXISTS (SELECT 1 FROM \"")
+                .append(collectionEntity.getTableName().getReference())
+                .append("\" \"")
+                .append(alias)
+                .append("\"");
+
+        for (AggregateReference ref : context.propertyResolver().getAggregateReferences(collectionEntity)) {
+            RelationalPersistentEntity<?> targetEntity =
+                    context.mappingContext().getRequiredPersistentEntity(ref.target());
+            sql.append(" LEFT JOIN \"")
+                    .append(targetEntity.getTableName().getReference())
+                    .append("\" \"")
+                    .append(ref.alias())
+                    .append("\" ON \"")
+                    .append(alias)
+                    .append("\".\"")
+                    .append(ref.sourceColumn())
+                    .append("\" = \"")
+                    .append(ref.alias())
+                    .append("\".\"")
+                    .append(ref.targetColumn())
+                    .append("\"");
+        }
+
+        return sql.append(" WHERE \"")
+                .append(alias)
+                .append("\".\"")
+                .append(collection.getReverseColumnName(context.entity()).getReference())
+                .append("\" = \"base\".\"")
+                .append(context.entity().getIdColumn().getReference())
+                .append("\" AND ")
+                .append(condition)
+                .append(")")
+                .toString();
+    }
+}
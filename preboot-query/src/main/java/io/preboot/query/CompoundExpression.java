@@ -1,7 +1,11 @@
 package io.preboot.query;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 public class CompoundExpression implements CriteriaExpression {
@@ -19,16 +23,87 @@ public class CompoundExpression implements CriteriaExpression {
             return "1=1"; // Always true for empty conditions
         }
 
-        List<String> conditions =
-                expressions.stream().map(expr -> expr.toSql(context)).collect(Collectors.toList());
+        // Predicates on the same collection share one EXISTS, and so do nested groups filtering only that collection,
+        // so the parts of an AND group must hold for one child row
+        List<String> conditions = new ArrayList<>();
+        Map<RelationalPersistentProperty, List<String>> collectionConditions = new LinkedHashMap<>();
+        Map<RelationalPersistentProperty, Integer> collectionSlots = new HashMap<>();
+        for (CriteriaExpression expr : expressions) {
+            RelationalPersistentProperty collection = findCollection(context, expr);
+            if (collection == null) {
+                conditions.add(expr.toSql(context));
+                continue;
+            }
+            if (!collectionSlots.containsKey(collection)) {
+                collectionSlots.put(collection, conditions.size());
+                conditions.add(null);
+            }
+            collectionConditions
+                    .computeIfAbsent(collection, key -> new ArrayList<>())
+                    .add(toConditionSql(context, expr));
+        }
+        collectionConditions.forEach((collection, parts) -> conditions.set(
+                collectionSlots.get(collection), CollectionSemiJoin.exists(context, collection, join(parts))));
+
+        return join(conditions);
+    }
+
+    /** @return the collection every predicate of {@code expr} filters, or {@code null} if any filters something else */
+    private static RelationalPersistentProperty findCollection(SqlContext context, CriteriaExpression expr) {
+        if (expr instanceof SimpleExpression simple) {
+            return CollectionSemiJoin.findCollection(context, simple.getField());
+        }
+        if (!(expr instanceof CompoundExpression compound) || compound.expressions.isEmpty()) {
+            return null;
+        }
+        RelationalPersistentProperty collection = null;
+        for (CriteriaExpression child : compound.expressions) {
+            RelationalPersistentProperty childCollection = findCollection(context, child);
+            if (childCollection == null || (collection != null && !collection.equals(childCollection))) {
+                return null;
+            }
+            collection = childCollection;
+        }
+        return collection;
+    }
 
+    // Bare predicate of an expression over a single collection, rendered inside its EXISTS
+    private static String toConditionSql(SqlContext context, CriteriaExpression expr) {
+        if (expr instanceof SimpleExpression simple) {
+            return simple.toConditionSql(context);
+        }
+        CompoundExpression compound = (CompoundExpression) expr;
+        List<String> parts = new ArrayList<>(compound.expressions.size());
+        for (CriteriaExpression child : compound.expressions) {
+            parts.add(toConditionSql(context, child));
+        }
+        return compound.join(parts);
+    }
+
+    private String join(List<String> conditions) {
         return conditions.size() == 1
                 ? conditions.get(0)
                 : "(" + String.join(" " + operator.sql() + " ", conditions) + ")";
     }
 
+    @Override
+    public String relevanceSql(SqlContext context) {
+        for (CriteriaExpression expr : expressions) {
+            String relevance = expr.relevanceSql(context);
+            if (relevance != null) {
+                return relevance;
+            }
+        }
+        return null;
+    }
+
     @Override
     public void addParameters(SqlParameterSource paramSource) {
         expressions.forEach(expr -> expr.addParameters(paramSource));
     }
+
+    @Override
+    public void bindParameters(SqlContext context, SqlParameterSource paramSource) {
+        expressions.forEach(expr -> expr.bindParameters(context, paramSource));
+    }
 }
@@ -0,0 +1,19 @@
+package io.preboot.query;
+
+/** Strategy used to compute the total element count of a paged search. */
+public enum CountMode {
+    /** Runs a count query next to the page query; totals are exact. */
+    EXACT,
+
+    /**
+     * Uses planner statistics instead of counting: {@code pg_class.reltuples} for unfiltered searches and the row
+     * estimate of {@code EXPLAIN} otherwise. Totals are approximate, {@code hasNext} stays exact.
+     */
+    ESTIMATED,
+
+    /**
+     * Skips the count query entirely. One extra row is fetched to detect whether a next page exists; the reported total
+     * is only a lower bound covering the rows seen so far.
+     */
+    NONE
+}
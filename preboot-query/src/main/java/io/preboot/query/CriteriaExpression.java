@@ -6,4 +6,20 @@ public interface CriteriaExpression {
     String toSql(SqlContext context);
 
     void addParameters(SqlParameterSource paramSource);
+
+    /**
+     * Binds this expression's parameters for SQL that may have been rendered by an earlier, identically shaped
+     * expression, so {@link #toSql(SqlContext)} is not guaranteed to have run on this instance.
+     */
+    default void bindParameters(SqlContext context, SqlParameterSource paramSource) {
+        addParameters(paramSource);
+    }
+
+    /**
+     * Ranking expression of the first full-text or similarity predicate on a root or reference column, used by the
+     * relevance sort; {@code null} when there is none.
+     */
+    default String relevanceSql(SqlContext context) {
+        return null;
+    }
 }
@@ -26,6 +26,10 @@ public class FilterCriteria {
         if ("like".equals(operator)) {
             return value + "%";
         }
+        if ("prefix".equals(operator) && value != null) {
+            // Wildcards in the prefix are matched literally
+            return value.toString().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
         return value;
     }
 
@@ -85,6 +89,33 @@ public class FilterCriteria {
                 .build();
     }
 
+    // Starts with (case-sensitive, can use a text_pattern_ops index)
+    public static FilterCriteria prefix(String field, String value) {
+        return FilterCriteria.builder()
+                .field(field)
+                .operator("prefix")
+                .value(value)
+                .build();
+    }
+
+    // Full-text search, the query uses websearch syntax ("quoted phrase", or, -excluded)
+    public static FilterCriteria fts(String field, String query) {
+        return FilterCriteria.builder()
+                .field(field)
+                .operator("fts")
+                .value(query)
+                .build();
+    }
+
+    // Trigram similarity (pg_trgm)
+    public static FilterCriteria similar(String field, String value) {
+        return FilterCriteria.builder()
+                .field(field)
+                .operator("similar")
+                .value(value)
+                .build();
+    }
+
     // Greater than
     public static FilterCriteria gt(String field, Object value) {
         return FilterCriteria.builder().field(field).operator("gt").value(value).build();
@@ -0,0 +1,203 @@
+package io.preboot.query;
+
+import io.preboot.query.exception.PropertyNotFoundException;
+import io.preboot.query.exception.TypeConversionException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.data.relational.core.mapping.RelationalMappingContext;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+
+/**
+ * Filterable fields of one aggregate: the column each path renders to and the converter applied to its request values.
+ * Root properties are compiled with the schema, when the repository is created; nested paths (aggregate references,
+ * collections, embedded entities) are compiled on first use. Either way a path is resolved once, so binding the
+ * parameters of a cached query is a map lookup per filter.
+ */
+final class FilterSchema {
+    private final RelationalPersistentEntity<?> entity;
+    private final PropertyResolver propertyResolver;
+    private final RelationalMappingContext mappingContext;
+    private final Map<String, Field> fields = new ConcurrentHashMap<>();
+
+    FilterSchema(
+            RelationalPersistentEntity<?> entity,
+            PropertyResolver propertyResolver,
+            RelationalMappingContext mappingContext) {
+        this.entity = entity;
+        this.propertyResolver = propertyResolver;
+        this.mappingContext = mappingContext;
+        for (RelationalPersistentProperty property : entity) {
+            if (!property.isEntity()) {
+                fields.put(property.getName(), resolve(property.getName()));
+            }
+        }
+    }
+
+    /**
+     * Resolved filter field.
+     *
+     * @param columnRef qualified column, {@code "base"} for root properties and the join or semi-join alias otherwise
+     * @param parser parses string values into the property type; {@code null} keeps strings as they are
+     */
+    record Field(RelationalPersistentProperty property, String columnRef, Function<String, Object> parser) {
+        Object convert(Object value) {
+            if (value instanceof Enum<?> enumValue) {
+                return enumValue.name();
+            }
+            // Timestamps keep the precision and bind reliably with the Postgres driver
+            if (value instanceof Instant instant) {
+                return Timestamp.from(instant);
+            }
+            if (value instanceof String string && parser != null) {
+                return parser.apply(string);
+            }
+            return value;
+        }
+    }
+
+    /** @throws PropertyNotFoundException if the path does not resolve to a property */
+    Field field(String path) {
+        Field field = fields.get(path);
+        return field != null ? field : fields.computeIfAbsent(path, this::resolve);
+    }
+
+    private Field resolve(String path) {
+        if (!propertyResolver.isNestedProperty(path)) {
+            RelationalPersistentProperty property = propertyResolver.getPropertyByPath(entity, path);
+            return field(property, "base");
+        }
+
+        String[] parts = path.split("\\.");
+
+        // First try to find by reference alias, then as a direct property
+        RelationalPersistentProperty property = propertyResolver.findPropertyByReferenceAlias(entity, parts[0]);
+        if (property == null) {
+            property = entity.getPersistentProperty(parts[0]);
+        }
+        if (property == null) {
+            throw new PropertyNotFoundException("Property not found: " + parts[0]);
+        }
+
+        String currentAlias;
+        RelationalPersistentEntity<?> currentEntity;
+
+        if (property.isCollectionLike()) {
+            currentEntity = propertyResolver.getNestedEntity(entity, property.getName());
+            // Match the alias convention used by CollectionSemiJoin
+            currentAlias = parts[0] + "_table";
+
+            // A path through an aggregate reference of the collection entity, e.g. items.product.name
+            if (parts.length > 2) {
+                RelationalPersistentProperty reference =
+                        propertyResolver.findPropertyByReferenceAlias(currentEntity, parts[1]);
+                if (reference != null) {
+                    AggregateReference ref = reference.getRequiredAnnotation(AggregateReference.class);
+                    RelationalPersistentProperty target = mappingContext
+                            .getRequiredPersistentEntity(ref.target())
+                            .getPersistentProperty(parts[2]);
+                    if (target == null) {
+                        throw new PropertyNotFoundException("Property not found: " + path);
+                    }
+                    return field(target, ref.alias());
+                }
+            }
+        } else if (property.findAnnotation(AggregateReference.class) != null) {
+            AggregateReference reference = property.getRequiredAnnotation(AggregateReference.class);
+            currentEntity = mappingContext.getRequiredPersistentEntity(reference.target());
+            currentAlias = reference.alias();
+        } else {
+            currentEntity = mappingContext.getRequiredPersistentEntity(property.getType());
+            currentAlias = parts[0];
+        }
+
+        RelationalPersistentProperty finalProperty = currentEntity.getPersistentProperty(parts[parts.length - 1]);
+        if (finalProperty == null) {
+            throw new PropertyNotFoundException("Property not found: " + path);
+        }
+        return field(finalProperty, currentAlias);
+    }
+
+    private static Field field(RelationalPersistentProperty property, String tableAlias) {
+        String columnRef = "\"" + tableAlias + "\".\"" + property.getColumnName().getReference() + "\"";
+        return new Field(property, columnRef, parserFor(property.getType()));
+    }
+
+    private static Function<String, Object> parserFor(Class<?> type) {
+        if (LocalDateTime.class.isAssignableFrom(type)) {
+            // Accepts local date-times and ones with an offset or zone, keeping the local part as written
+            return value -> parseTemporal(
+                    value, type, () -> LocalDateTime.from(DateTimeFormatter.ISO_DATE_TIME.parse(value)));
+        }
+        if (LocalDate.class.isAssignableFrom(type)) {
+            return value -> parseTemporal(value, type, () -> LocalDate.parse(value));
+        }
+        if (Instant.class.isAssignableFrom(type)) {
+            return value -> parseTemporal(value, type, () -> Timestamp.from(Instant.parse(value)));
+        }
+        if (Integer.class.equals(type) || int.class.equals(type)) {
+            return value -> parseNumber(value, type, "Integer", Integer::valueOf);
+        }
+        if (Long.class.equals(type) || long.class.equals(type)) {
+            return value -> parseNumber(value, type, "Long", Long::valueOf);
+        }
+        if (Short.class.equals(type) || short.class.equals(type)) {
+            return value -> parseNumber(value, type, "Short", Short::valueOf);
+        }
+        if (Double.class.equals(type) || double.class.equals(type)) {
+            return value -> parseNumber(value, type, "Double", Double::valueOf);
+        }
+        if (Float.class.equals(type) || float.class.equals(type)) {
+            return value -> parseNumber(value, type, "Float", Float::valueOf);
+        }
+        if (BigDecimal.class.isAssignableFrom(type)) {
+            return value -> parseNumber(value, type, "BigDecimal", BigDecimal::new);
+        }
+        if (Boolean.class.equals(type) || boolean.class.equals(type)) {
+            return value -> parseBoolean(value, type);
+        }
+        return null;
+    }
+
+    private static Object parseTemporal(String value, Class<?> type, Supplier<Object> parser) {
+        try {
+            return parser.get();
+        } catch (DateTimeParseException e) {
+            throw new TypeConversionException(
+                    String.class, type, "Cannot parse '" + value + "' as " + type.getSimpleName());
+        }
+    }
+
+    private static Object parseNumber(String value, Class<?> type, String typeName, Function<String, Object> parser) {
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new TypeConversionException(String.class, type, "Cannot parse '" + value + "' as " + typeName);
+        }
+    }
+
+    private static Boolean parseBoolean(String value, Class<?> type) {
+        if (value.equalsIgnoreCase("true")
+                || value.equals("1")
+                || value.equalsIgnoreCase("yes")
+                || value.equalsIgnoreCase("tak")) {
+            return Boolean.TRUE;
+        }
+        if (value.equalsIgnoreCase("false")
+                || value.equals("0")
+                || value.equalsIgnoreCase("no")
+                || value.equalsIgnoreCase("nie")) {
+            return Boolean.FALSE;
+        }
+        throw new TypeConversionException(String.class, type, "Cannot parse '" + value + "' as Boolean");
+    }
+}
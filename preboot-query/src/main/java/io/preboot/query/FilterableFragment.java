@@ -1,21 +1,44 @@
 package io.preboot.query;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 
 interface FilterableFragment<T> {
     Page<T> findAll(SearchParams params);
 
+    Page<Map<String, Object>> findAllFields(SearchParams params);
+
     Stream<T> findAllAsStream(SearchParams params);
 
+    /**
+     * Passes the stream of {@link #findAllAsStream} to {@code action} and closes it afterwards. With a fetch size the
+     * stream runs in a read-only transaction lasting until {@code action} returns, so callers need none of their own.
+     */
+    <R> R streamAll(SearchParams params, Function<? super Stream<T>, ? extends R> action);
+
     Optional<T> findOne(SearchParams params);
 
     long count(SearchParams params);
 
+    boolean exists(SearchParams params);
+
+    List<AggregationRow> aggregate(SearchParams params, AggregationSpec aggregation);
+
+    long updateWhere(SearchParams params, Map<String, Object> values);
+
+    long deleteWhere(SearchParams params);
+
     <P> Page<P> findAllProjectedBy(SearchParams params, Class<P> projectionType);
 
     <P> Stream<P> findAllProjectedByAsStream(SearchParams params, Class<P> projectionType);
 
+    /** Like {@link #streamAll}, for the stream of {@link #findAllProjectedByAsStream}. */
+    <P, R> R streamAllProjectedBy(
+            SearchParams params, Class<P> projectionType, Function<? super Stream<P>, ? extends R> action);
+
     <P> Optional<P> findOneProjectedBy(SearchParams params, Class<P> projectionType);
 }
@@ -1,12 +1,19 @@
 package io.preboot.query;
 
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.jdbc.core.JdbcAggregateTemplate;
 import org.springframework.data.jdbc.core.convert.JdbcConverter;
 import org.springframework.data.relational.core.mapping.RelationalMappingContext;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 /**
@@ -23,6 +30,33 @@ public class FilterableFragmentContext {
     private final ConversionService conversionService;
     private final JdbcAggregateTemplate aggregateTemplate;
     private final PropertyResolver propertyResolver;
+    private final QueryResultCacheRegistry resultCacheRegistry;
+    private final IndexAdvisor indexAdvisor;
+    private final ReadReplicaRouter replicaRouter;
+
+    /** Default fetch size of stream queries; 0 keeps the driver default, which Postgres reads fully into memory. */
+    @Value("${preboot.query.stream-fetch-size:0}")
+    private int streamFetchSize;
+
+    /** Aggregates written per batch by {@code saveAll}, {@code deleteAll} and {@code deleteAllById}. */
+    @Value("${preboot.query.batch-size:500}")
+    private int batchSize;
+
+    /** Runs the exact count of paged searches concurrently with the page query, on a second connection. */
+    @Value("${preboot.query.parallel-count:false}")
+    private boolean parallelCount;
+
+    /**
+     * Statement timeout of searches in milliseconds, unless the aggregate declares a {@link SearchTimeout}; 0 (the
+     * default) disables it.
+     */
+    @Value("${preboot.query.search-timeout:0}")
+    private long searchTimeout;
+
+    private final ExecutorService countExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TransactionTemplate countTransaction;
+    // Scopes SET LOCAL statement_timeout of searches run outside a transaction
+    private final TransactionTemplate searchTransaction;
 
     FilterableFragmentContext(
             final NamedParameterJdbcTemplate jdbcTemplate,
@@ -31,7 +65,11 @@ public class FilterableFragmentContext {
             final JdbcConverter jdbcConverter,
             final ConversionService conversionService,
             final JdbcAggregateTemplate aggregateTemplate,
-            final PropertyResolver propertyResolver) {
+            final PropertyResolver propertyResolver,
+            final PlatformTransactionManager transactionManager,
+            final QueryResultCacheRegistry resultCacheRegistry,
+            final IndexAdvisor indexAdvisor,
+            final ReadReplicaRouter replicaRouter) {
         this.jdbcTemplate = jdbcTemplate;
         this.sqlBuilder = sqlBuilder;
         this.mappingContext = mappingContext;
@@ -39,10 +77,23 @@ public class FilterableFragmentContext {
         this.conversionService = conversionService;
         this.aggregateTemplate = aggregateTemplate;
         this.propertyResolver = propertyResolver;
+        this.resultCacheRegistry = resultCacheRegistry;
+        this.indexAdvisor = indexAdvisor;
+        this.replicaRouter = replicaRouter;
+        this.countTransaction = new TransactionTemplate(transactionManager);
+        this.countTransaction.setReadOnly(true);
+        this.countTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.searchTransaction = new TransactionTemplate(transactionManager);
+        this.searchTransaction.setReadOnly(true);
 
         validateDependencies();
     }
 
+    @PreDestroy
+    void shutdown() {
+        countExecutor.shutdown();
+    }
+
     private void validateDependencies() {
         Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
         Assert.notNull(sqlBuilder, "SqlBuilder must not be null");
@@ -51,5 +102,8 @@ public class FilterableFragmentContext {
         Assert.notNull(conversionService, "ConversionService must not be null");
         Assert.notNull(aggregateTemplate, "AggregateTemplate must not be null");
         Assert.notNull(propertyResolver, "PropertyResolver must not be null");
+        Assert.notNull(resultCacheRegistry, "QueryResultCacheRegistry must not be null");
+        Assert.notNull(indexAdvisor, "IndexAdvisor must not be null");
+        Assert.notNull(replicaRouter, "ReadReplicaRouter must not be null");
     }
 }
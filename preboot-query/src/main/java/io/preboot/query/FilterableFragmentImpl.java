@@ -1,15 +1,40 @@
 package io.preboot.query;
 
+import io.preboot.query.exception.InvalidFilterCriteriaException;
+import io.preboot.query.exception.PropertyNotFoundException;
+import io.preboot.query.exception.SearchTimeoutException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -18,17 +43,37 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jdbc.core.JdbcAggregateTemplate;
 import org.springframework.data.jdbc.core.convert.EntityRowMapper;
 import org.springframework.data.jdbc.core.convert.JdbcConverter;
+import org.springframework.data.jdbc.core.mapping.JdbcValue;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.data.relational.core.mapping.RelationalMappingContext;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 @Slf4j
 public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragment<T>, CrudRepository<T, ID> {
+    private static final int PROJECTION_BATCH_SIZE = 100;
+    // First occurrence in EXPLAIN (FORMAT JSON) output belongs to the top plan node
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+    // Timeout already set for the transaction of the current thread, so nested searches (the count of findAll) skip it
+    private static final ThreadLocal<Long> APPLIED_SEARCH_TIMEOUT = new ThreadLocal<>();
+    // Template the reads of the current search run on, the primary or the read replica
+    private static final ThreadLocal<NamedParameterJdbcTemplate> SEARCH_READS = new ThreadLocal<>();
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final SqlBuilder sqlBuilder;
     private final JdbcConverter jdbcConverter;
@@ -39,6 +84,18 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
     private final Class<T> entityClass;
     private final JdbcAggregateTemplate aggregateTemplate;
     private final PropertyResolver propertyResolver;
+    private final int streamFetchSize;
+    private final int batchSize;
+    private final boolean parallelCount;
+    private final ExecutorService countExecutor;
+    private final TransactionTemplate countTransaction;
+    private final Map<Class<?>, ProjectionDescriptor> projectionDescriptors = new ConcurrentHashMap<>();
+    // Only set for aggregates annotated with @CachedQueries
+    private final QueryResultCache resultCache;
+    private final IndexAdvisor indexAdvisor;
+    private final long searchTimeout;
+    private final TransactionTemplate searchTransaction;
+    private final ReadReplicaRouter replicaRouter;
 
     protected FilterableFragmentImpl(FilterableFragmentContext context, final Class<T> entityClass) {
         this.jdbcTemplate = context.getJdbcTemplate();
@@ -49,7 +106,21 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
         this.aggregateTemplate = context.getAggregateTemplate();
         this.projectionFactory = new SpelAwareProxyProjectionFactory();
         this.propertyResolver = context.getPropertyResolver();
+        this.streamFetchSize = context.getStreamFetchSize();
+        this.batchSize = context.getBatchSize();
+        this.parallelCount = context.isParallelCount();
+        this.countExecutor = context.getCountExecutor();
+        this.countTransaction = context.getCountTransaction();
+        this.indexAdvisor = context.getIndexAdvisor();
+        this.searchTransaction = context.getSearchTransaction();
+        this.replicaRouter = context.getReplicaRouter();
+        SearchTimeout searchTimeout = entityClass.getAnnotation(SearchTimeout.class);
+        this.searchTimeout = searchTimeout != null ? searchTimeout.millis() : context.getSearchTimeout();
         this.entityClass = entityClass;
+        CachedQueries cachedQueries = entityClass.getAnnotation(CachedQueries.class);
+        this.resultCache = cachedQueries != null
+                ? context.getResultCacheRegistry().forEntity(entityClass, cachedQueries)
+                : null;
 
         Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
         Assert.notNull(sqlBuilder, "SqlBuilder must not be null");
@@ -61,27 +132,101 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
         RelationalPersistentEntity<T> entity =
                 (RelationalPersistentEntity<T>) mappingContext.getRequiredPersistentEntity(getEntityType());
         this.entity = entity;
+        // Compiles the filterable fields up front instead of on the first search
+        sqlBuilder.getFilterSchema(entity);
     }
 
     @Override
     public Page<T> findAll(SearchParams params) {
         Assert.notNull(params, "SearchParams must not be null!");
 
+        return cached("findAll", params, () -> search(params, true, () -> executeFindAll(params)));
+    }
+
+    private Page<T> executeFindAll(SearchParams params) {
         // Create specification with criteria
         JdbcSpecification<T> spec = new JdbcSpecification<>();
         spec.withCriteria(convertToRequestParams(params));
 
-        // Build SQL query
         Pageable pageable = createPageable(params);
+        prepareSpecification(spec, params, pageable);
+
+        // Build SQL query
         String sql = sqlBuilder.buildSelectSql(entity, spec, pageable);
+        CompletableFuture<Long> pendingCount = startParallelCount(params, pageable);
+        return withPendingCount(pendingCount, () -> queryFindAllPage(sql, spec, params, pageable, pendingCount));
+    }
+
+    private Page<T> queryFindAllPage(
+            String sql,
+            JdbcSpecification<T> spec,
+            SearchParams params,
+            Pageable pageable,
+            CompletableFuture<Long> pendingCount) {
+        if (spec.isKeyset()) {
+            String sortField = getKeysetSortField(params);
+            String sortColumn = isIdProperty(sortField)
+                    ? null
+                    : propertyResolver
+                            .getPropertyByPath(entity, sortField)
+                            .getColumnName()
+                            .getReference();
+            KeysetRowMapper<T> rowMapper = new KeysetRowMapper<>(
+                    new EntityRowMapper<>(entity, jdbcConverter),
+                    sortField,
+                    sortColumn,
+                    entity.getRequiredIdProperty().getColumnName().getReference(),
+                    pageable.getPageSize());
+            List<T> results = reads().query(sql, spec.getParameterSource(), rowMapper);
+
+            return createPage(results, params, spec, pageable, rowMapper, pendingCount);
+        }
 
         // Execute query
         List<T> results =
-                jdbcTemplate.query(sql, spec.getParameterSource(), new EntityRowMapper<>(entity, jdbcConverter));
+                reads().query(sql, spec.getParameterSource(), new EntityRowMapper<>(entity, jdbcConverter));
 
-        // Get total count for pagination
-        long total = count(params);
-        return new PageImpl<>(results, pageable, total);
+        return createPage(results, params, spec, pageable, null, pendingCount);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllFields(SearchParams params) {
+        Assert.notNull(params, "SearchParams must not be null!");
+
+        return cached("findAllFields", params, () -> search(params, true, () -> executeFindAllFields(params)));
+    }
+
+    private Page<Map<String, Object>> executeFindAllFields(SearchParams params) {
+        List<String> fields = params.getFields();
+        if (fields == null || fields.isEmpty()) {
+            throw new InvalidFilterCriteriaException("fields", "select", "At least one field is required");
+        }
+        if (fields.stream().anyMatch(field -> field == null || field.isBlank())) {
+            throw new InvalidFilterCriteriaException("fields", "select", "Field names must not be blank");
+        }
+
+        JdbcSpecification<T> spec = new JdbcSpecification<>();
+        spec.withCriteria(convertToRequestParams(params));
+
+        Pageable pageable = createPageable(params);
+        prepareSpecification(spec, params, pageable);
+
+        String sql = sqlBuilder.buildFieldsSql(entity, spec, fields, pageable);
+
+        // Rows hold the id and the requested fields; sort columns selected only for ORDER BY are left out
+        Map<String, RelationalPersistentProperty> returned = new LinkedHashMap<>();
+        returned.put(getIdPropertyName(), entity.getRequiredIdProperty());
+        fields.forEach(field -> returned.put(field, propertyResolver.getPropertyByPath(entity, field)));
+
+        RowMapper<Map<String, Object>> rowMapper = (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (Map.Entry<String, RelationalPersistentProperty> field : returned.entrySet()) {
+                Object value = rs.getObject(field.getKey());
+                row.put(field.getKey(), jdbcConverter.readValue(value, field.getValue().getTypeInformation()));
+            }
+            return row;
+        };
+        return queryProjections(sql, spec, params, pageable, rowMapper, rows -> rows);
     }
 
     @Override
@@ -95,6 +240,7 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
                 .filters(params.getFilters())
                 .sortField(params.getSortField())
                 .sortDirection(params.getSortDirection())
+                .sort(params.getSort())
                 .unpaged(true)
                 .build();
 
@@ -102,18 +248,25 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
 
         String sql = sqlBuilder.buildSelectSql(entity, spec, pageable);
 
-        return jdbcTemplate.queryForStream(
-                sql, spec.getParameterSource(), new EntityRowMapper<>(entity, jdbcConverter));
+        return queryForStream(sql, spec, new EntityRowMapper<>(entity, jdbcConverter), params, streamReads(params));
+    }
+
+    @Override
+    public <R> R streamAll(SearchParams params, Function<? super Stream<T>, ? extends R> action) {
+        Assert.notNull(action, "Stream action must not be null!");
+
+        return inStreamTransaction(params, () -> {
+            try (Stream<T> rows = findAllAsStream(params)) {
+                return action.apply(rows);
+            }
+        });
     }
 
     @Override
     public Optional<T> findOne(SearchParams params) {
         Assert.notNull(params, "SearchParams must not be null!");
 
-        params.setPage(0);
-        params.setSize(1);
-
-        List<T> results = findAll(params).getContent();
+        List<T> results = findAll(firstRowOf(params)).getContent();
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -121,12 +274,78 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
     public long count(SearchParams params) {
         Assert.notNull(params, "SearchParams must not be null!");
 
+        return cached("count", params, () -> search(params, false, () -> executeCount(params)));
+    }
+
+    @Override
+    public boolean exists(SearchParams params) {
+        Assert.notNull(params, "SearchParams must not be null!");
+
+        return cached("exists", params, () -> search(params, false, () -> executeExists(params)));
+    }
+
+    private boolean executeExists(SearchParams params) {
+        JdbcSpecification<T> spec = new JdbcSpecification<>();
+        spec.withCriteria(convertToRequestParams(params));
+
+        String sql = sqlBuilder.buildExistsSql(entity, spec);
+
+        return Boolean.TRUE.equals(reads().queryForObject(sql, spec.getParameterSource(), Boolean.class));
+    }
+
+    @Override
+    public List<AggregationRow> aggregate(SearchParams params, AggregationSpec aggregation) {
+        Assert.notNull(params, "SearchParams must not be null!");
+        Assert.notNull(aggregation, "Aggregation must not be null!");
+
+        return cached(
+                "aggregate:" + aggregation,
+                params,
+                () -> search(params, false, () -> executeAggregate(params, aggregation)));
+    }
+
+    private List<AggregationRow> executeAggregate(SearchParams params, AggregationSpec aggregation) {
+        JdbcSpecification<T> spec = new JdbcSpecification<>();
+        spec.withCriteria(convertToRequestParams(params));
+
+        String sql = sqlBuilder.buildAggregationSql(entity, spec, aggregation);
+        List<AggregationSpec.GroupBy> groups = aggregation.groupBy();
+        List<AggregationSpec.Metric> metrics = aggregation.metrics();
+
+        return reads().query(sql, spec.getParameterSource(), (rs, rowNum) -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < groups.size(); i++) {
+                keys.put(groups.get(i).field(), readAggregationValue(rs, SqlBuilder.GROUP_COLUMN_PREFIX + i));
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < metrics.size(); i++) {
+                values.put(metrics.get(i).name(), readAggregationValue(rs, SqlBuilder.METRIC_COLUMN_PREFIX + i));
+            }
+            return new AggregationRow(keys, values);
+        });
+    }
+
+    private static Object readAggregationValue(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        // Date buckets keep the column type; expose them as the java.time types entities use
+        if (value instanceof Timestamp timestamp) {
+            return "timestamptz".equals(rs.getMetaData().getColumnTypeName(rs.findColumn(column)))
+                    ? timestamp.toInstant()
+                    : timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return value;
+    }
+
+    private long executeCount(SearchParams params) {
         JdbcSpecification<T> spec = new JdbcSpecification<>();
         spec.withCriteria(convertToRequestParams(params));
 
         String sql = sqlBuilder.buildCountSql(entity, spec);
 
-        return jdbcTemplate.queryForObject(sql, spec.getParameterSource(), Long.class);
+        return reads().queryForObject(sql, spec.getParameterSource(), Long.class);
     }
 
     @Override
@@ -134,19 +353,75 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
         Assert.notNull(params, "SearchParams must not be null!");
         Assert.notNull(projectionType, "Projection type must not be null!");
 
+        return cached(
+                "findAllProjectedBy:" + projectionType.getName(),
+                params,
+                () -> search(params, true, () -> executeFindAllProjectedBy(params, projectionType)));
+    }
+
+    private <P> Page<P> executeFindAllProjectedBy(SearchParams params, Class<P> projectionType) {
         // Create specification with criteria
         JdbcSpecification<T> spec = new JdbcSpecification<>();
         spec.withCriteria(convertToRequestParams(params));
 
         Pageable pageable = createPageable(params);
+        prepareSpecification(spec, params, pageable);
+
         String sql = sqlBuilder.buildProjectionSql(entity, spec, projectionType, pageable);
 
+        ProjectionHelper helper = createProjectionHelper(new HashMap<>());
+        ProjectionDescriptor descriptor = getProjectionDescriptor(projectionType);
+        if (descriptor.isGenerated()) {
+            RowMapper<P> rowMapper =
+                    (rs, rowNum) -> projectionType.cast(helper.createGeneratedProjection(rs, descriptor));
+            return queryProjections(sql, spec, params, pageable, rowMapper, rows -> rows);
+        }
+
+        RowMapper<Map<String, Object>> rowMapper =
+                (rs, rowNum) -> helper.processProjectionRow(rs, descriptor, entity);
+        return queryProjections(
+                sql, spec, params, pageable, rowMapper, rows -> toProjections(helper, rows, projectionType));
+    }
+
+    private <R, P> Page<P> queryProjections(
+            String sql,
+            JdbcSpecification<T> spec,
+            SearchParams params,
+            Pageable pageable,
+            RowMapper<R> rowMapper,
+            Function<List<R>, List<P>> toProjections) {
+        CompletableFuture<Long> pendingCount = startParallelCount(params, pageable);
+        return withPendingCount(
+                pendingCount,
+                () -> queryProjectionPage(sql, spec, params, pageable, rowMapper, toProjections, pendingCount));
+    }
+
+    private <R, P> Page<P> queryProjectionPage(
+            String sql,
+            JdbcSpecification<T> spec,
+            SearchParams params,
+            Pageable pageable,
+            RowMapper<R> rowMapper,
+            Function<List<R>, List<P>> toProjections,
+            CompletableFuture<Long> pendingCount) {
+        if (spec.isKeyset()) {
+            // Projection SQL exposes every sort property under its own name, including the id tiebreak
+            String sortField = getKeysetSortField(params);
+            KeysetRowMapper<R> keysetRowMapper = new KeysetRowMapper<>(
+                    rowMapper,
+                    sortField,
+                    isIdProperty(sortField) ? null : sortField,
+                    entity.getRequiredIdProperty().getName(),
+                    pageable.getPageSize());
+            List<R> rows = reads().query(sql, spec.getParameterSource(), keysetRowMapper);
+
+            return createPage(toProjections.apply(rows), params, spec, pageable, keysetRowMapper, pendingCount);
+        }
+
         // Use the parameter source from the specification
-        List<P> results = jdbcTemplate.query(
-                sql, spec.getParameterSource(), createProjectionMapper(projectionType, new HashMap<>()));
+        List<R> rows = reads().query(sql, spec.getParameterSource(), rowMapper);
 
-        long total = count(params);
-        return new PageImpl<>(results, pageable, total);
+        return createPage(toProjections.apply(rows), params, spec, pageable, null, pendingCount);
     }
 
     @Override
@@ -161,6 +436,7 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
                 .filters(params.getFilters())
                 .sortField(params.getSortField())
                 .sortDirection(params.getSortDirection())
+                .sort(params.getSort())
                 .unpaged(true)
                 .build();
 
@@ -168,8 +444,36 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
 
         String sql = sqlBuilder.buildProjectionSql(entity, spec, projectionType, pageable);
 
-        return jdbcTemplate.queryForStream(
-                sql, spec.getParameterSource(), createProjectionMapper(projectionType, new HashMap<>()));
+        // Collections of the streamed projections are loaded from the server the rows come from
+        NamedParameterJdbcTemplate reads = streamReads(params);
+        ProjectionHelper helper = createProjectionHelper(new HashMap<>(), reads);
+        ProjectionDescriptor descriptor = getProjectionDescriptor(projectionType);
+        if (descriptor.isGenerated()) {
+            // Generated projections have no collections, rows are mapped straight to instances
+            RowMapper<P> rowMapper =
+                    (rs, rowNum) -> projectionType.cast(helper.createGeneratedProjection(rs, descriptor));
+            return queryForStream(sql, spec, rowMapper, params, reads);
+        }
+
+        RowMapper<Map<String, Object>> rowMapper =
+                (rs, rowNum) -> helper.processProjectionRow(rs, descriptor, entity);
+        Stream<Map<String, Object>> rows = queryForStream(sql, spec, rowMapper, params, reads);
+
+        // Collections are loaded per chunk of rows rather than per row
+        return inBatches(rows, PROJECTION_BATCH_SIZE)
+                .flatMap(batch -> toProjections(helper, batch, projectionType).stream());
+    }
+
+    @Override
+    public <P, R> R streamAllProjectedBy(
+            SearchParams params, Class<P> projectionType, Function<? super Stream<P>, ? extends R> action) {
+        Assert.notNull(action, "Stream action must not be null!");
+
+        return inStreamTransaction(params, () -> {
+            try (Stream<P> rows = findAllProjectedByAsStream(params, projectionType)) {
+                return action.apply(rows);
+            }
+        });
     }
 
     @Override
@@ -177,21 +481,22 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
         Assert.notNull(params, "SearchParams must not be null!");
         Assert.notNull(projectionType, "Projection type must not be null!");
 
-        params.setPage(0);
-        params.setSize(1);
-
-        List<P> results = findAllProjectedBy(params, projectionType).getContent();
+        List<P> results = findAllProjectedBy(firstRowOf(params), projectionType).getContent();
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
     protected <P> RowMapper<P> createProjectionMapper(
             final Class<P> projectionType, final Map<String, List<Map<String, Object>>> collectionCache) {
-        ProjectionHelper helper = new ProjectionHelper(
-                jdbcTemplate, projectionFactory, mappingContext, conversionService, propertyResolver, collectionCache);
+        ProjectionHelper helper = createProjectionHelper(collectionCache);
+        ProjectionDescriptor descriptor = getProjectionDescriptor(projectionType);
+        if (descriptor.isGenerated()) {
+            return (rs, rowNum) -> projectionType.cast(helper.createGeneratedProjection(rs, descriptor));
+        }
 
         return (rs, rowNum) -> {
             try {
-                Map<String, Object> propertyValues = helper.processProjectionRow(rs, projectionType, entity);
+                Map<String, Object> propertyValues = helper.processProjectionRow(rs, descriptor, entity);
+                helper.loadPendingCollections();
                 return projectionFactory.createProjection(projectionType, propertyValues);
             } catch (SQLException e) {
                 throw new RuntimeException("Error creating projection", e);
@@ -199,6 +504,119 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
         };
     }
 
+    private ProjectionHelper createProjectionHelper(final Map<String, List<Map<String, Object>>> collectionCache) {
+        return createProjectionHelper(collectionCache, reads());
+    }
+
+    private ProjectionHelper createProjectionHelper(
+            final Map<String, List<Map<String, Object>>> collectionCache, final NamedParameterJdbcTemplate reads) {
+        return new ProjectionHelper(
+                reads, projectionFactory, mappingContext, conversionService, propertyResolver, collectionCache);
+    }
+
+    /** Mapping plan of a projection type, built on first use and shared by all queries of this repository. */
+    private ProjectionDescriptor getProjectionDescriptor(Class<?> projectionType) {
+        return projectionDescriptors.computeIfAbsent(
+                projectionType, type -> ProjectionDescriptor.of(entity, type, mappingContext, propertyResolver));
+    }
+
+    /** Loads the collections of all rows with one query per collection property, then creates the projections. */
+    private <P> List<P> toProjections(
+            ProjectionHelper helper, List<Map<String, Object>> rows, Class<P> projectionType) {
+        helper.loadPendingCollections();
+        List<P> projections = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            projections.add(projectionFactory.createProjection(projectionType, row));
+        }
+        return projections;
+    }
+
+    // A copy, so callers can reuse their params for a paged search with its total afterwards
+    private static SearchParams firstRowOf(SearchParams params) {
+        return params.toBuilder().page(0).size(1).countMode(CountMode.NONE).build();
+    }
+
+    private int getStreamFetchSize(SearchParams params) {
+        return params.getFetchSize() != null ? params.getFetchSize() : streamFetchSize;
+    }
+
+    // A cursor needs a read-only transaction; streams without one keep the routing of findAllAsStream
+    private <R> R inStreamTransaction(SearchParams params, Supplier<R> stream) {
+        if (getStreamFetchSize(params) <= 0) {
+            return stream.get();
+        }
+        return searchTransaction.execute(status -> stream.get());
+    }
+
+    // Streams without a fetch size may read from the replica; cursors stay in the caller's transaction on the primary
+    private NamedParameterJdbcTemplate streamReads(SearchParams params) {
+        if (getStreamFetchSize(params) > 0) {
+            return jdbcTemplate;
+        }
+        NamedParameterJdbcTemplate replica = replicaRouter.route(getResultCacheScope());
+        return replica != null ? replica : jdbcTemplate;
+    }
+
+    /**
+     * Streams the query rows. With a positive fetch size ({@link SearchParams#getFetchSize()} or
+     * {@code preboot.query.stream-fetch-size}) the driver reads the result through a server-side cursor, fetching that
+     * many rows per round trip as the stream is consumed. Postgres only opens such a cursor inside a transaction, so
+     * the caller has to be in a read-only one and consume the stream before it ends.
+     */
+    private <R> Stream<R> queryForStream(
+            String sql,
+            JdbcSpecification<T> spec,
+            RowMapper<R> rowMapper,
+            SearchParams params,
+            NamedParameterJdbcTemplate reads) {
+        int fetchSize = getStreamFetchSize(params);
+        if (fetchSize <= 0) {
+            return reads.queryForStream(sql, spec.getParameterSource(), rowMapper);
+        }
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalTransactionStateException("Streaming with fetch size " + fetchSize
+                    + " requires a read-only transaction, e.g. @Transactional(readOnly = true) on the caller");
+        }
+
+        SqlParameterSource paramSource = spec.getParameterSource();
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        PreparedStatementCreator creator = new PreparedStatementCreatorFactory(
+                        NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource),
+                        NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource))
+                .newPreparedStatementCreator(NamedParameterUtils.buildValueArray(parsedSql, paramSource, null));
+
+        return jdbcTemplate.getJdbcOperations().queryForStream(
+                connection -> {
+                    PreparedStatement statement = creator.createPreparedStatement(connection);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                rowMapper);
+    }
+
+    private static <E> Stream<List<E>> inBatches(Stream<E> source, int batchSize) {
+        Iterator<E> iterator = source.iterator();
+        Iterator<List<E>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<E> next() {
+                List<E> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .onClose(source::close);
+    }
+
     private List<FilterCriteria> convertToRequestParams(SearchParams params) {
         if (params.getFilters() == null) {
             return List.of();
@@ -210,11 +628,18 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
     }
 
     protected Pageable createPageable(SearchParams params) {
-        Sort sort = params.getSortField() != null
-                ? Sort.by(
-                        params.getSortDirection() != null ? params.getSortDirection() : SearchParams.DEFAULT_DIRECTION,
-                        params.getSortField())
-                : Sort.unsorted();
+        if (isKeysetSearch(params)) {
+            // Keyset pages always start at the cursor and need a unique, deterministic order
+            Sort.Direction direction = getKeysetDirection(params);
+            String sortField = getKeysetSortField(params);
+            Sort sort = Sort.by(direction, sortField);
+            if (!isIdProperty(sortField)) {
+                sort = sort.and(Sort.by(direction, entity.getRequiredIdProperty().getName()));
+            }
+            return PageRequest.of(0, ObjectUtils.defaultIfNull(params.getSize(), SearchParams.DEFAULT_SIZE), sort);
+        }
+
+        Sort sort = createSort(params);
 
         if (params.isUnpaged()) {
             return sort.isSorted() ? Pageable.unpaged(sort) : Pageable.unpaged();
@@ -226,22 +651,414 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
                 sort);
     }
 
+    private Sort createSort(SearchParams params) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (params.getSort() != null && !params.getSort().isEmpty()) {
+            params.getSort().forEach(order -> orders.add(order.toOrder()));
+        } else if (params.getSortField() != null) {
+            orders.add(new Sort.Order(
+                    params.getSortDirection() != null ? params.getSortDirection() : SearchParams.DEFAULT_DIRECTION,
+                    params.getSortField()));
+        }
+        if (orders.isEmpty()) {
+            return Sort.unsorted();
+        }
+
+        // The unique id makes the order total, so rows with equal sort keys cannot move between pages
+        if (orders.stream().noneMatch(order -> isIdProperty(order.getProperty()))) {
+            Sort.Order last = orders.get(orders.size() - 1);
+            orders.add(new Sort.Order(last.getDirection(), entity.getRequiredIdProperty().getName()));
+        }
+        return Sort.by(orders);
+    }
+
+    private void prepareSpecification(JdbcSpecification<T> spec, SearchParams params, Pageable pageable) {
+        if (isKeysetSearch(params)) {
+            applyKeyset(spec, params, pageable);
+        }
+        if (pageable.isPaged() && (spec.isKeyset() || getCountMode(params) != CountMode.EXACT)) {
+            spec.withLookahead();
+        }
+    }
+
+    private <R> Page<R> createPage(
+            List<R> rows,
+            SearchParams params,
+            JdbcSpecification<T> spec,
+            Pageable pageable,
+            KeysetRowMapper<?> keysetRowMapper,
+            CompletableFuture<Long> pendingCount) {
+        CountMode countMode = getCountMode(params);
+        if (!spec.isLookahead()) {
+            long total = countMode == CountMode.EXACT ? awaitCount(params, pendingCount) : rows.size();
+            return new PageImpl<>(rows, pageable, total);
+        }
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<R> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        // Lower bound known from the rows read so far, including the lookahead row
+        long seen = pageable.getOffset() + rows.size();
+        long total =
+                switch (countMode) {
+                    case EXACT -> awaitCount(params, pendingCount);
+                    // On the last page the rows read so far are the exact total
+                    case ESTIMATED -> hasNext ? Math.max(estimateCount(params), seen) : seen;
+                    case NONE -> seen;
+                };
+
+        if (keysetRowMapper != null) {
+            return new KeysetPage<>(content, pageable, total, countMode, keysetRowMapper.nextCursor(hasNext));
+        }
+        return new SearchPage<>(content, pageable, total, countMode, hasNext);
+    }
+
+    /**
+     * Starts the exact count of a paged search on a virtual thread when {@code preboot.query.parallel-count} is
+     * enabled, so it runs on its own connection while the page query executes. Only done outside transactions or inside
+     * read-only READ COMMITTED ones, where a separate read-only transaction sees the same data as the caller's next
+     * statement would.
+     *
+     * @return the running count, or {@code null} when the count runs after the page query
+     */
+    private CompletableFuture<Long> startParallelCount(SearchParams params, Pageable pageable) {
+        if (!parallelCount || !pageable.isPaged() || getCountMode(params) != CountMode.EXACT) {
+            return null;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            Integer isolation = TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    || (isolation != null && isolation > Connection.TRANSACTION_READ_COMMITTED)) {
+                return null;
+            }
+        }
+
+        // The count runs on the server picked for the page query, so a page and its count see the same data
+        NamedParameterJdbcTemplate reads = reads();
+        TransactionTemplate transaction = reads == jdbcTemplate ? countTransaction : replicaRouter.getTransaction();
+
+        // The params are final at this point (secured by subclasses), so the count SQL is run directly
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    SEARCH_READS.set(reads);
+                    try {
+                        return transaction.execute(status -> {
+                            long timeout = getSearchTimeout(params);
+                            if (timeout > 0) {
+                                applySearchTimeout(String.valueOf(timeout));
+                            }
+                            return executeCount(params);
+                        });
+                    } finally {
+                        SEARCH_READS.remove();
+                    }
+                },
+                countExecutor);
+    }
+
+    // A failed page query abandons its parallel count
+    private <R> R withPendingCount(CompletableFuture<Long> pendingCount, Supplier<R> pageQuery) {
+        try {
+            return pageQuery.get();
+        } catch (RuntimeException e) {
+            if (pendingCount != null) {
+                pendingCount.cancel(true);
+            }
+            throw e;
+        }
+    }
+
+    private long awaitCount(SearchParams params, CompletableFuture<Long> pendingCount) {
+        if (pendingCount == null) {
+            return count(params);
+        }
+        try {
+            return pendingCount.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private long estimateCount(SearchParams params) {
+        JdbcSpecification<T> spec = new JdbcSpecification<>();
+        spec.withCriteria(convertToRequestParams(params));
+
+        if (!spec.hasCriteria()) {
+            Long estimate = reads().queryForObject(
+                    sqlBuilder.buildTableEstimateSql(),
+                    Map.of("tableName", "\"" + entity.getTableName().getReference() + "\""),
+                    Long.class);
+            // Tables never analyzed report -1; count them exactly instead
+            return estimate != null && estimate >= 0 ? estimate : count(params);
+        }
+
+        String plan = reads().queryForObject(
+                sqlBuilder.buildCountEstimateSql(entity, spec), spec.getParameterSource(), String.class);
+        Matcher matcher = PLAN_ROWS_PATTERN.matcher(plan != null ? plan : "");
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : count(params);
+    }
+
+    private CountMode getCountMode(SearchParams params) {
+        return ObjectUtils.defaultIfNull(params.getCountMode(), CountMode.EXACT);
+    }
+
+    private boolean isKeysetSearch(SearchParams params) {
+        return !params.isUnpaged() && (params.isKeyset() || params.getCursor() != null);
+    }
+
+    private String getKeysetSortField(SearchParams params) {
+        SortOrder order = getKeysetSortOrder(params);
+        if (order != null) {
+            return order.field();
+        }
+        return params.getSortField() != null ? params.getSortField() : entity.getRequiredIdProperty().getName();
+    }
+
+    private Sort.Direction getKeysetDirection(SearchParams params) {
+        SortOrder order = getKeysetSortOrder(params);
+        Sort.Direction direction = order != null ? order.direction() : params.getSortDirection();
+        return direction != null ? direction : SearchParams.DEFAULT_DIRECTION;
+    }
+
+    private SortOrder getKeysetSortOrder(SearchParams params) {
+        List<SortOrder> sort = params.getSort();
+        if (sort == null || sort.isEmpty()) {
+            return null;
+        }
+        if (sort.size() > 1) {
+            throw new InvalidFilterCriteriaException(
+                    "sort", "keyset", "Keyset pagination supports a single sort field");
+        }
+        SortOrder order = sort.get(0);
+        if (order.nullHandling() != null && order.nullHandling() != Sort.NullHandling.NATIVE) {
+            throw new InvalidFilterCriteriaException(
+                    order.field(), "keyset", "Keyset pagination does not support custom null ordering");
+        }
+        return order;
+    }
+
+    private boolean isIdProperty(String field) {
+        return entity.getRequiredIdProperty().getName().equals(field);
+    }
+
+    private void applyKeyset(JdbcSpecification<T> spec, SearchParams params, Pageable pageable) {
+        String sortField = getKeysetSortField(params);
+        if (propertyResolver.isNestedProperty(sortField) || SortOrder.RELEVANCE.equals(sortField)) {
+            throw new InvalidFilterCriteriaException(
+                    sortField, "keyset", "Keyset pagination supports only direct entity properties");
+        }
+
+        KeysetCursor cursor = null;
+        if (params.getCursor() != null) {
+            cursor = KeysetCursor.decode(params.getCursor());
+            if (!cursor.sortField().equals(sortField)) {
+                throw new InvalidFilterCriteriaException(
+                        "cursor", "keyset", "Cursor was issued for sort field '" + cursor.sortField() + "'");
+            }
+        }
+        Sort.Order order = pageable.getSort().iterator().next();
+        spec.withKeyset(cursor, order.getDirection());
+    }
+
     protected Class<T> getEntityType() {
         return entityClass;
     }
 
+    protected String getIdPropertyName() {
+        return entity.getRequiredIdProperty().getName();
+    }
+
+    /**
+     * Scope of the cached search results read by this repository, e.g. the current tenant. {@code null} (the default)
+     * means the results do not depend on the caller.
+     */
+    protected String getResultCacheScope() {
+        return null;
+    }
+
+    /** Scope of the cached search results affected by a write of the entity; {@code null} affects all scopes. */
+    protected String getResultCacheScope(T entity) {
+        return null;
+    }
+
+    /**
+     * Property holding the tenant of a multi-tenant aggregate; the index advisor suggests it as the leading column.
+     * {@code null} (the default) for aggregates that are not tenant-scoped.
+     */
+    protected String getTenantPropertyName() {
+        return null;
+    }
+
+    private <R> R cached(String operation, SearchParams params, Supplier<R> query) {
+        if (resultCache == null) {
+            return query.get();
+        }
+        return resultCache.get(getResultCacheScope(), QueryResultCache.keyOf(operation, params), query);
+    }
+
+    // Runs a search (not a cache hit) on the routed template within its statement timeout and records it with the
+    // index advisor
+    private <R> R search(SearchParams params, boolean sorted, Supplier<R> query) {
+        if (!indexAdvisor.isEnabled()) {
+            return routed(params, query);
+        }
+        long start = System.nanoTime();
+        R result = routed(params, query);
+        Sort sort = sorted ? createPageable(params).getSort() : Sort.unsorted();
+        indexAdvisor.record(entity, getTenantPropertyName(), params.getFilters(), sort, System.nanoTime() - start);
+        return result;
+    }
+
+    // Picks the primary or the replica once per search, so nested reads (the count of findAll) stay on the same one
+    private <R> R routed(SearchParams params, Supplier<R> query) {
+        if (!replicaRouter.isConfigured() || SEARCH_READS.get() != null) {
+            return withSearchTimeout(params, query);
+        }
+        NamedParameterJdbcTemplate replica = replicaRouter.route(getResultCacheScope());
+        SEARCH_READS.set(replica != null ? replica : jdbcTemplate);
+        try {
+            return withSearchTimeout(params, query);
+        } finally {
+            SEARCH_READS.remove();
+        }
+    }
+
+    private NamedParameterJdbcTemplate reads() {
+        NamedParameterJdbcTemplate routed = SEARCH_READS.get();
+        return routed != null ? routed : jdbcTemplate;
+    }
+
+    private <R> R withSearchTimeout(SearchParams params, Supplier<R> query) {
+        long timeout = getSearchTimeout(params);
+        if (timeout <= 0 || Long.valueOf(timeout).equals(APPLIED_SEARCH_TIMEOUT.get())) {
+            return query.get();
+        }
+        try {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                // SET LOCAL only lasts for a transaction, which also ends the timeout with the search
+                TransactionTemplate transaction =
+                        reads() == jdbcTemplate ? searchTransaction : replicaRouter.getTransaction();
+                return transaction.execute(status -> {
+                    applySearchTimeout(String.valueOf(timeout));
+                    return withAppliedTimeout(timeout, query);
+                });
+            }
+            // Restores the timeout of the caller's transaction, which later statements of it would run under otherwise
+            String previous = applySearchTimeout(String.valueOf(timeout));
+            try {
+                return withAppliedTimeout(timeout, query);
+            } finally {
+                restoreSearchTimeout(previous);
+            }
+        } catch (DataAccessException e) {
+            if (isQueryCancelled(e)) {
+                throw new SearchTimeoutException(entityClass.getSimpleName(), timeout, e);
+            }
+            throw e;
+        }
+    }
+
+    private long getSearchTimeout(SearchParams params) {
+        return params.getTimeout() != null ? params.getTimeout().toMillis() : searchTimeout;
+    }
+
+    private <R> R withAppliedTimeout(long timeout, Supplier<R> query) {
+        Long outer = APPLIED_SEARCH_TIMEOUT.get();
+        APPLIED_SEARCH_TIMEOUT.set(timeout);
+        try {
+            return query.get();
+        } finally {
+            if (outer != null) {
+                APPLIED_SEARCH_TIMEOUT.set(outer);
+            } else {
+                APPLIED_SEARCH_TIMEOUT.remove();
+            }
+        }
+    }
+
+    // Returns the previous statement_timeout of the transaction
+    private String applySearchTimeout(String timeout) {
+        return reads().queryForObject(
+                "SELECT current_setting('statement_timeout') AS previous,"
+                        + " set_config('statement_timeout', :timeout, true) AS applied",
+                new MapSqlParameterSource("timeout", timeout),
+                (rs, rowNum) -> rs.getString("previous"));
+    }
+
+    private void restoreSearchTimeout(String previous) {
+        try {
+            applySearchTimeout(previous);
+        } catch (DataAccessException e) {
+            // A failed statement aborted the transaction, which discards its settings with the rollback
+            if (!hasSqlState(e, "25P02")) {
+                throw e;
+            }
+        }
+    }
+
+    private static boolean isQueryCancelled(DataAccessException e) {
+        // query_canceled, raised by statement_timeout and by cancel requests
+        return hasSqlState(e, "57014");
+    }
+
+    private static boolean hasSqlState(DataAccessException e, String sqlState) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlState.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void invalidateResultCache(Iterable<? extends T> entities) {
+        Set<String> scopes = new HashSet<>();
+        if (resultCache != null) {
+            entities.forEach(entity -> scopes.add(getResultCacheScope(entity)));
+        }
+        invalidateResultCacheScopes(scopes);
+    }
+
+    // Every write also keeps the searches of the writer's scope on the primary for the read-your-writes window
+    private void invalidateResultCacheScopes(Set<String> scopes) {
+        replicaRouter.recordWrite(this::getResultCacheScope);
+        if (resultCache == null) {
+            return;
+        }
+        scopes.forEach(resultCache::invalidate);
+        // Reads of other transactions may cache the old state again until this one completes
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    scopes.forEach(resultCache::invalidate);
+                }
+            });
+        }
+    }
+
     // CRUD implementation
     @Override
     public <S extends T> S save(S entity) {
         Assert.notNull(entity, "Entity must not be null");
-        return aggregateTemplate.save(entity);
+        S saved = aggregateTemplate.save(entity);
+        invalidateResultCache(List.of(saved));
+        return saved;
     }
 
+    /**
+     * Saves the entities in chunks of {@code preboot.query.batch-size}. Within a chunk, inserts of new aggregates are
+     * sent to the database as a single JDBC batch.
+     */
     @Override
     public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
         Assert.notNull(entities, "Entities must not be null");
         List<S> result = new ArrayList<>();
-        entities.forEach(entity -> result.add(save(entity)));
+        try (Stream<List<S>> batches = inBatches(StreamSupport.stream(entities.spliterator(), false), batchSize)) {
+            batches.forEach(batch -> result.addAll(aggregateTemplate.saveAll(batch)));
+        }
+        invalidateResultCache(result);
         return result;
     }
 
@@ -253,7 +1070,8 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
 
     @Override
     public boolean existsById(ID id) {
-        return findById(id).isPresent();
+        Assert.notNull(id, "Id must not be null");
+        return executeExists(SearchParams.criteria(FilterCriteria.eq(getIdPropertyName(), id)).build());
     }
 
     @Override
@@ -265,7 +1083,10 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
     public Iterable<T> findAllById(Iterable<ID> ids) {
         Assert.notNull(ids, "Ids must not be null");
         List<T> result = new ArrayList<>();
-        ids.forEach(id -> findById(id).ifPresent(result::add));
+        // One root query per chunk, so the id list stays within the bind parameter limit of the driver
+        try (Stream<List<ID>> batches = inBatches(StreamSupport.stream(ids.spliterator(), false), batchSize)) {
+            batches.forEach(batch -> aggregateTemplate.findAllById(batch, entity.getType()).forEach(result::add));
+        }
         return result;
     }
 
@@ -284,23 +1105,103 @@ public abstract class FilterableFragmentImpl<T, ID> implements FilterableFragmen
     public void delete(T entity) {
         Assert.notNull(entity, "Entity must not be null");
         aggregateTemplate.delete(entity);
+        invalidateResultCache(List.of(entity));
     }
 
+    /** Deletes the aggregates with one statement per table for every chunk of {@code preboot.query.batch-size} ids. */
     @Override
     public void deleteAllById(Iterable<? extends ID> ids) {
         Assert.notNull(ids, "Ids must not be null");
-        ids.forEach(this::deleteById);
+        try (Stream<? extends List<? extends ID>> batches =
+                inBatches(StreamSupport.stream(ids.spliterator(), false), batchSize)) {
+            batches.forEach(batch -> aggregateTemplate.deleteAllById(batch, entity.getType()));
+        }
+        // The tenants of the deleted rows are unknown here
+        invalidateResultCacheScopes(Collections.singleton(null));
     }
 
     @Override
     public void deleteAll(Iterable<? extends T> entities) {
         Assert.notNull(entities, "Entities must not be null");
-        entities.forEach(this::delete);
+        List<T> deleted = new ArrayList<>();
+        try (Stream<? extends List<? extends T>> batches =
+                inBatches(StreamSupport.stream(entities.spliterator(), false), batchSize)) {
+            batches.forEach(batch -> {
+                aggregateTemplate.deleteAll(batch);
+                deleted.addAll(batch);
+            });
+        }
+        invalidateResultCache(deleted);
+    }
+
+    /**
+     * Assigns the values to the root columns of every aggregate matching the search, in one statement. Entities are not
+     * loaded, so neither optimistic locking nor entity callbacks apply.
+     *
+     * @param values new values by root property name
+     * @return number of updated aggregates
+     */
+    @Override
+    public long updateWhere(SearchParams params, Map<String, Object> values) {
+        Assert.notNull(params, "SearchParams must not be null!");
+        Assert.notEmpty(values, "Values must not be empty");
+
+        JdbcSpecification<T> spec = new JdbcSpecification<>();
+        spec.withCriteria(convertToRequestParams(params));
+
+        Map<String, JdbcValue> columnValues = new LinkedHashMap<>();
+        values.forEach((field, value) -> {
+            RelationalPersistentProperty property = entity.getPersistentProperty(field);
+            if (property == null) {
+                throw new PropertyNotFoundException(field);
+            }
+            if (property.isIdProperty() || property.isEntity()) {
+                throw new InvalidFilterCriteriaException(
+                        field, "update", "Only non-id columns of the aggregate root can be updated");
+            }
+            Object converted = value == null || property.getType().isInstance(value)
+                    ? value
+                    : conversionService.convert(value, property.getType());
+            columnValues.put(
+                    property.getColumnName().getReference(),
+                    jdbcConverter.writeJdbcValue(
+                            converted, property.getTypeInformation(), jdbcConverter.getTargetSqlType(property)));
+        });
+
+        String sql = sqlBuilder.buildUpdateSql(entity, spec, new ArrayList<>(columnValues.keySet()));
+        MapSqlParameterSource paramSource = (MapSqlParameterSource) spec.getParameterSource();
+        columnValues.forEach((column, jdbcValue) -> paramSource.addValue(
+                SqlBuilder.setParameterName(column),
+                jdbcValue.getValue(),
+                jdbcValue.getJdbcType() != null ? jdbcValue.getJdbcType().getVendorTypeNumber() : Types.OTHER));
+
+        long updated = jdbcTemplate.update(sql, paramSource);
+        invalidateResultCacheScopes(Collections.singleton(null));
+        return updated;
+    }
+
+    /**
+     * Deletes every aggregate matching the search, including its owned child rows, in one statement.
+     *
+     * @return number of deleted aggregates
+     */
+    @Override
+    public long deleteWhere(SearchParams params) {
+        Assert.notNull(params, "SearchParams must not be null!");
+
+        JdbcSpecification<T> spec = new JdbcSpecification<>();
+        spec.withCriteria(convertToRequestParams(params));
+
+        String sql = sqlBuilder.buildDeleteSql(entity, spec);
+
+        long deleted = jdbcTemplate.update(sql, spec.getParameterSource());
+        invalidateResultCacheScopes(Collections.singleton(null));
+        return deleted;
     }
 
     @Override
     public void deleteAll() {
-        Iterable<T> all = findAll();
-        all.forEach(this::delete);
+        aggregateTemplate.deleteAll(entity.getType());
+        invalidateResultCacheScopes(Collections.singleton(null));
     }
 }
@@ -18,7 +18,7 @@ public class FilterableUuidFragmentImpl<T extends HasUuid, ID> extends Filterabl
 
     @Override
     public boolean existsByUuid(UUID uuid) {
-        return count(SearchParams.criteria(FilterCriteria.eq("uuid", uuid)).build()) > 0;
+        return exists(SearchParams.criteria(FilterCriteria.eq("uuid", uuid)).build());
     }
 
     @Override
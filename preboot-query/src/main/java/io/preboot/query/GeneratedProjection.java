@@ -0,0 +1,18 @@
+package io.preboot.query;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a projection interface that is implemented by a generated class with one final field per getter instead of a
+ * map-backed proxy. Each row allocates a single object and getters are plain field reads the JIT can inline, which
+ * pays off for large streamed reads.
+ *
+ * <p>Only interfaces made of plain getters are supported: {@code @Value} expressions, references and collections are
+ * rejected when the projection is first used. Default methods are inherited as they are.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GeneratedProjection {}
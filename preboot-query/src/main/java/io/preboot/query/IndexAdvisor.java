@@ -0,0 +1,403 @@
+package io.preboot.query;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the shapes of searches run through the filterable repositories (filtered columns, operators and sort
+ * columns) with their counts and latency, and suggests indexes for the shapes no index in {@code pg_indexes} supports.
+ * Only root columns of top-level AND filters are considered; OR groups, collection filters and reference joins are
+ * left to manual review. Tenant-scoped aggregates get the tenant column as the leading index column.
+ *
+ * <p>Disabled unless {@code preboot.query.index-advisor.enabled} is set. A positive
+ * {@code preboot.query.index-advisor.digest-interval} (seconds) logs the suggestions periodically; applications can
+ * also expose {@link #getSuggestions()} through their own management endpoint.
+ */
+@Component
+@Slf4j
+public class IndexAdvisor {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Map<QueryShape, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService digestExecutor;
+
+    @Value("${preboot.query.index-advisor.enabled:false}")
+    private boolean enabled;
+
+    /** Distinct shapes kept; searches of new shapes are not recorded once the limit is reached. */
+    @Value("${preboot.query.index-advisor.max-shapes:1000}")
+    private int maxShapes = 1000;
+
+    @Value("${preboot.query.index-advisor.digest-interval:0}")
+    private long digestIntervalSeconds;
+
+    @Value("${preboot.query.text-search-config:simple}")
+    private String textSearchConfig = "simple";
+
+    IndexAdvisor(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Suggested index with the statistics of all recorded search shapes it would support. */
+    public record IndexSuggestion(
+            String table, String ddl, long queries, double averageMillis, double maxMillis, List<String> shapes) {}
+
+    @PostConstruct
+    void startDigest() {
+        if (enabled && digestIntervalSeconds > 0) {
+            digestExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+            digestExecutor.scheduleAtFixedRate(
+                    this::logDigest, digestIntervalSeconds, digestIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (digestExecutor != null) {
+            digestExecutor.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void record(
+            RelationalPersistentEntity<?> entity,
+            String tenantProperty,
+            List<FilterCriteria> filters,
+            Sort sort,
+            long nanos) {
+        QueryShape shape = QueryShape.of(entity, tenantProperty, filters, sort, textSearchConfig);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        stats.record(nanos);
+    }
+
+    /** Drops all recorded shapes, e.g. after the suggested indexes were created. */
+    public void clear() {
+        shapes.clear();
+    }
+
+    /** Indexes missing for the recorded shapes, the most expensive in total search time first. */
+    public List<IndexSuggestion> getSuggestions() {
+        if (shapes.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<ExistingIndex>> existing = loadIndexes();
+        Map<String, SuggestionStats> suggestions = new LinkedHashMap<>();
+        shapes.forEach((shape, stats) -> shape.candidates().stream()
+                .filter(candidate -> existing.getOrDefault(shape.table(), List.of()).stream()
+                        .noneMatch(index -> index.covers(candidate)))
+                .forEach(candidate -> suggestions
+                        .computeIfAbsent(candidate.ddl(shape.table()), ddl -> new SuggestionStats(shape.table()))
+                        .add(shape, stats)));
+
+        return suggestions.entrySet().stream()
+                .map(entry -> entry.getValue().toSuggestion(entry.getKey()))
+                .sorted(Comparator.comparingDouble((IndexSuggestion s) -> s.queries() * s.averageMillis())
+                        .reversed())
+                .toList();
+    }
+
+    public void logDigest() {
+        try {
+            List<IndexSuggestion> suggestions = getSuggestions();
+            if (suggestions.isEmpty()) {
+                log.debug("Index advisor: all recorded search shapes are supported by indexes");
+                return;
+            }
+            log.info("Index advisor: {} suggested indexes", suggestions.size());
+            suggestions.forEach(suggestion -> log.info(
+                    "{}; -- {} queries, avg {} ms, max {} ms, shapes: {}",
+                    suggestion.ddl(),
+                    suggestion.queries(),
+                    String.format("%.1f", suggestion.averageMillis()),
+                    String.format("%.1f", suggestion.maxMillis()),
+                    suggestion.shapes()));
+        } catch (RuntimeException e) {
+            log.warn("Index advisor digest failed", e);
+        }
+    }
+
+    private Map<String, List<ExistingIndex>> loadIndexes() {
+        Map<String, List<ExistingIndex>> indexes = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT tablename, indexdef FROM pg_indexes WHERE schemaname = current_schema()",
+                new MapSqlParameterSource(),
+                rs -> {
+                    ExistingIndex index = ExistingIndex.parse(rs.getString("indexdef"));
+                    if (index != null) {
+                        indexes.computeIfAbsent(rs.getString("tablename"), table -> new ArrayList<>())
+                                .add(index);
+                    }
+                });
+        return indexes;
+    }
+
+    private static String normalize(String expression) {
+        return expression
+                .toLowerCase()
+                .replaceAll("\\s+(asc|desc)(\\s+nulls\\s+(first|last))?$", "")
+                .replaceAll("\\s+nulls\\s+(first|last)$", "")
+                .replaceAll("::[a-z_ ]+(\\[])?", "")
+                .replaceAll("[\"()\\s]", "");
+    }
+
+    /**
+     * Columns and operators of one search. Equality columns can be listed in any order, so they are kept sorted after
+     * the tenant column; only the first range column can use the index, and the sort is dropped when there is one.
+     */
+    private record QueryShape(
+            String table,
+            List<String> equality,
+            String range,
+            List<String> sort,
+            SortedSet<String> predicates,
+            SortedSet<String> search) {
+
+        static QueryShape of(
+                RelationalPersistentEntity<?> entity,
+                String tenantProperty,
+                List<FilterCriteria> filters,
+                Sort sort,
+                String textSearchConfig) {
+            SortedSet<String> equality = new TreeSet<>();
+            List<String> ranges = new ArrayList<>();
+            SortedSet<String> predicates = new TreeSet<>();
+            SortedSet<String> search = new TreeSet<>();
+            for (FilterCriteria criteria : filters) {
+                String column = criteria.isCompound() ? null : columnOf(entity, criteria.getField());
+                if (column == null || criteria.getOperator() == null) {
+                    continue;
+                }
+                switch (criteria.getOperator()) {
+                    case "eq", "in" -> equality.add(column);
+                    case "eqic" -> equality.add("lower(" + column + ")");
+                    case "gt", "gte", "lt", "lte", "between" -> ranges.add(column);
+                    case "isnull" -> predicates.add(column + " IS NULL");
+                    case "isnotnull" -> predicates.add(column + " IS NOT NULL");
+                    case "prefix" -> search.add("(" + column + " text_pattern_ops)");
+                    case "like", "similar" -> search.add("USING gin (" + column + " gin_trgm_ops)");
+                    case "fts" -> search.add("USING gin (to_tsvector('" + textSearchConfig.replace("'", "''")
+                            + "'::regconfig, " + column + "))");
+                    case "ao" -> search.add("USING gin (" + column + ")");
+                    default -> {
+                        // neq and unknown operators match too many rows to benefit from an index
+                    }
+                }
+            }
+
+            List<String> leading = new ArrayList<>();
+            String tenantColumn = columnOf(entity, tenantProperty);
+            if (tenantColumn != null) {
+                leading.add(tenantColumn);
+                equality.remove(tenantColumn);
+            }
+            leading.addAll(equality);
+
+            List<String> sortColumns = new ArrayList<>();
+            for (Sort.Order order : sort) {
+                String column = columnOf(entity, order.getProperty());
+                if (column == null) {
+                    // Relevance and reference columns cannot come from an index on this table
+                    break;
+                }
+                sortColumns.add(order.isDescending() ? column + " DESC" : column);
+            }
+            String idColumn = quote(entity.getRequiredIdProperty().getColumnName().getReference());
+            if (sortColumns.size() > 1 && sortColumns.get(sortColumns.size() - 1).startsWith(idColumn)) {
+                // The id tiebreak only orders rows with equal sort keys
+                sortColumns.remove(sortColumns.size() - 1);
+            }
+
+            return new QueryShape(
+                    entity.getTableName().getReference(),
+                    List.copyOf(leading),
+                    ranges.isEmpty() ? null : ranges.get(0),
+                    ranges.isEmpty() ? List.copyOf(sortColumns) : List.of(),
+                    predicates,
+                    search);
+        }
+
+        private static String columnOf(RelationalPersistentEntity<?> entity, String field) {
+            if (field == null || field.contains(".")) {
+                return null;
+            }
+            RelationalPersistentProperty property = entity.getPersistentProperty(field);
+            if (property == null || property.isEntity()) {
+                return null;
+            }
+            return quote(property.getColumnName().getReference());
+        }
+
+        private static String quote(String column) {
+            return "\"" + column + "\"";
+        }
+
+        List<Candidate> candidates() {
+            List<Candidate> candidates = new ArrayList<>();
+            List<String> columns = new ArrayList<>(equality);
+            if (range != null && !columns.contains(range)) {
+                columns.add(range);
+            }
+            sort.stream().filter(column -> !columns.contains(column)).forEach(columns::add);
+            if (!columns.isEmpty()) {
+                String predicate = predicates.isEmpty() ? null : String.join(" AND ", predicates);
+                candidates.add(new Candidate("btree", columns, equality.size(), predicate));
+            }
+            for (String definition : search) {
+                if (definition.startsWith("USING gin ")) {
+                    String expression = definition.substring("USING gin (".length(), definition.length() - 1);
+                    candidates.add(new Candidate("gin", List.of(expression), 0, null));
+                } else {
+                    String expression = definition.substring(1, definition.length() - 1);
+                    candidates.add(new Candidate("btree", List.of(expression), 0, null));
+                }
+            }
+            return candidates;
+        }
+
+        String describe() {
+            List<String> parts = new ArrayList<>();
+            if (!equality.isEmpty()) {
+                parts.add("eq " + String.join(", ", equality));
+            }
+            if (range != null) {
+                parts.add("range " + range);
+            }
+            if (!sort.isEmpty()) {
+                parts.add("sort " + String.join(", ", sort));
+            }
+            if (!predicates.isEmpty()) {
+                parts.add("where " + String.join(" AND ", predicates));
+            }
+            if (!search.isEmpty()) {
+                parts.add("search " + String.join(", ", search));
+            }
+            return table + " [" + String.join("; ", parts) + "]";
+        }
+    }
+
+    /** Index that would support a shape; the first {@code unordered} columns may appear in any order. */
+    private record Candidate(String method, List<String> columns, int unordered, String predicate) {
+        String ddl(String table) {
+            String using = "btree".equals(method) ? "" : " USING " + method;
+            String where = predicate != null ? " WHERE " + predicate : "";
+            return "CREATE INDEX ON \"" + table + "\"" + using + " (" + String.join(", ", columns) + ")" + where;
+        }
+    }
+
+    /** Index parsed from {@code pg_indexes.indexdef}, with its columns and predicate normalized for comparison. */
+    private record ExistingIndex(String method, List<String> columns, String predicate) {
+        static ExistingIndex parse(String definition) {
+            int using = definition.indexOf(" USING ");
+            int open = definition.indexOf('(', using);
+            if (using < 0 || open < 0) {
+                return null;
+            }
+            String method = definition.substring(using + " USING ".length(), open).trim();
+
+            List<String> columns = new ArrayList<>();
+            int depth = 0;
+            int start = open + 1;
+            int close = -1;
+            for (int i = open; i < definition.length() && close < 0; i++) {
+                char c = definition.charAt(i);
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')' && --depth == 0) {
+                    columns.add(normalize(definition.substring(start, i)));
+                    close = i;
+                } else if (c == ',' && depth == 1) {
+                    columns.add(normalize(definition.substring(start, i)));
+                    start = i + 1;
+                }
+            }
+            int where = definition.indexOf(" WHERE ", Math.max(close, 0));
+            String predicate = where >= 0 ? normalize(definition.substring(where + " WHERE ".length())) : null;
+            return new ExistingIndex(method, columns, predicate);
+        }
+
+        boolean covers(Candidate candidate) {
+            if (!method.equals(candidate.method()) || columns.size() < candidate.columns().size()) {
+                return false;
+            }
+            // A partial index only serves searches with the same condition; a full index serves all of them
+            if (predicate != null
+                    && (candidate.predicate() == null || !predicate.equals(normalize(candidate.predicate())))) {
+                return false;
+            }
+            List<String> wanted = candidate.columns().stream().map(IndexAdvisor::normalize).toList();
+            int unordered = candidate.unordered();
+            if (!new HashSet<>(columns.subList(0, unordered)).equals(new HashSet<>(wanted.subList(0, unordered)))) {
+                return false;
+            }
+            return columns.subList(unordered, wanted.size()).equals(wanted.subList(unordered, wanted.size()));
+        }
+    }
+
+    private static final class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    private static final class SuggestionStats {
+        private final String table;
+        private final List<String> shapes = new ArrayList<>();
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        SuggestionStats(String table) {
+            this.table = table;
+        }
+
+        void add(QueryShape shape, ShapeStats stats) {
+            shapes.add(shape.describe());
+            count += stats.count.sum();
+            totalNanos += stats.totalNanos.sum();
+            maxNanos = Math.max(maxNanos, stats.maxNanos.get());
+        }
+
+        IndexSuggestion toSuggestion(String ddl) {
+            double averageMillis = count > 0 ? totalNanos / (double) count / 1_000_000 : 0;
+            return new IndexSuggestion(table, ddl, count, averageMillis, maxNanos / 1_000_000.0, List.copyOf(shapes));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.preboot.query;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a projection interface whose collections are fetched in the same statement as the projected rows. Each
+ * collection is aggregated to JSON by a {@code LATERAL} subquery evaluated for the rows of the requested page only, so
+ * a page costs one round-trip regardless of how many collections the projection exposes.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InlineCollections {}
@@ -5,12 +5,16 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import lombok.Getter;
+import org.springframework.data.domain.Sort;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 @Getter
 class JdbcSpecification<T> {
     private final List<FilterCriteria> filterCriteria = new ArrayList<>();
     private CriteriaExpression expression;
+    private KeysetExpression keysetExpression;
+    private boolean keyset;
+    private boolean lookahead;
     private final CriteriaParameterSource parameterSource;
 
     public JdbcSpecification() {
@@ -29,6 +33,22 @@ class JdbcSpecification<T> {
         return this;
     }
 
+    /**
+     * Switches the specification to keyset pagination. A {@code null} cursor requests the first page; otherwise a seek
+     * predicate continuing after the cursor position is added to the WHERE clause.
+     */
+    public JdbcSpecification<T> withKeyset(KeysetCursor cursor, Sort.Direction direction) {
+        this.keyset = true;
+        this.keysetExpression = cursor != null ? new KeysetExpression(cursor, direction) : null;
+        return this;
+    }
+
+    /** Makes paged queries read one row past the page end so the caller can tell whether a next page exists. */
+    public JdbcSpecification<T> withLookahead() {
+        this.lookahead = true;
+        return this;
+    }
+
     public List<SearchCriteria> getSearchCriteria() {
         AtomicInteger counter = new AtomicInteger(0);
         return convertToSearchCriteria(filterCriteria, counter);
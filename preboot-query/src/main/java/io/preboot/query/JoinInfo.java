@@ -5,6 +5,14 @@ package io.preboot.query;
  */
 public record JoinInfo(
         String targetTable, String alias, String sourceColumn, String targetColumn, boolean isAggregateReference) {
+    /**
+     * @return whether the join may match several rows per base row. Aggregate references point to a single target row,
+     *     collections to any number of child rows.
+     */
+    public boolean isToMany() {
+        return !isAggregateReference;
+    }
+
     public static JoinInfo forAggregateReference(
             String targetTable, String alias, String sourceColumn, String targetColumn) {
         return new JoinInfo(targetTable, alias, sourceColumn, targetColumn, true);
@@ -15,6 +23,12 @@ public record JoinInfo(
      * order_items.order_id) and the target column is the primary key in the parent table (e.g., orders.id)
      */
     public static JoinInfo forCollection(String targetTable, String alias, String foreignKeyColumn) {
-        return new JoinInfo(targetTable, alias, foreignKeyColumn, "id", false);
+        return forCollection(targetTable, alias, foreignKeyColumn, "id");
+    }
+
+    /** Creates a JoinInfo for a collection whose parent table keys its rows by {@code parentIdColumn}. */
+    public static JoinInfo forCollection(
+            String targetTable, String alias, String foreignKeyColumn, String parentIdColumn) {
+        return new JoinInfo(targetTable, alias, foreignKeyColumn, parentIdColumn, false);
     }
 }
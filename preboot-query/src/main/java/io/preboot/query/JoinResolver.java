@@ -9,6 +9,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.relational.core.mapping.RelationalMappingContext;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
 import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
@@ -21,31 +22,46 @@ public class JoinResolver {
     private final RelationalMappingContext mappingContext;
 
     public Map<String, JoinInfo> analyzeJoins(RelationalPersistentEntity<?> entity, List<FilterCriteria> criteria) {
+        return analyzeJoins(entity, criteria, Sort.unsorted());
+    }
+
+    /** Joins required by the filters and the sort paths together; a reference used by both is joined once. */
+    public Map<String, JoinInfo> analyzeJoins(
+            RelationalPersistentEntity<?> entity, List<FilterCriteria> criteria, Sort sort) {
         // Create a set to collect all required joins
         Set<String> requiredJoins = new HashSet<>();
 
-        // Add joins from filter criteria
-        criteria.stream()
+        // Add joins from filter criteria and sort paths
+        Stream<String> filterFields = criteria.stream()
                 .flatMap(criterion -> {
                     if (criterion.isCompound()) {
                         return criterion.getChildren().stream();
                     }
                     return Stream.of(criterion);
                 })
-                .map(FilterCriteria::getField)
+                .map(FilterCriteria::getField);
+        Stream<String> sortFields = sort.stream().map(Sort.Order::getProperty);
+
+        Stream.concat(filterFields, sortFields)
                 .filter(field -> field != null && propertyResolver.isNestedProperty(field))
                 .map(field -> field.split("\\.")[0])
                 .forEach(requiredJoins::add);
 
-        // Create JoinInfo for each required join
+        // Create JoinInfo for each required join; collection filters are rendered as EXISTS and need no join
         return requiredJoins.stream()
                 .distinct()
+                .filter(prefix -> !isCollection(entity, prefix))
                 .collect(Collectors.toMap(
                         prefix -> prefix,
                         prefix -> createJoinInfo(entity, prefix),
                         (existing, replacement) -> existing));
     }
 
+    private boolean isCollection(RelationalPersistentEntity<?> entity, String prefix) {
+        RelationalPersistentProperty property = entity.getPersistentProperty(prefix);
+        return property != null && property.isCollectionLike();
+    }
+
     private JoinInfo createJoinInfo(RelationalPersistentEntity<?> entity, String prefix) {
         // First try to find property directly
         RelationalPersistentProperty property = entity.getPersistentProperty(prefix);
@@ -61,12 +77,11 @@ public class JoinResolver {
 
         if (property.isCollectionLike()) {
             // Collection case
-            RelationalPersistentEntity<?> nestedEntity =
-                    mappingContext.getRequiredPersistentEntity(property.getActualType());
+            RelationalPersistentEntity<?> nestedEntity = propertyResolver.getNestedEntity(entity, property.getName());
             String tableName = nestedEntity.getTableName().getReference();
             String alias = prefix + "_table";
             String foreignKeyColumn = property.getReverseColumnName(entity).getReference();
-            return JoinInfo.forCollection(tableName, alias, foreignKeyColumn);
+            return JoinInfo.forCollection(tableName, alias, foreignKeyColumn, entity.getIdColumn().getReference());
         } else {
             // Aggregate reference case
             AggregateReference reference = property.findAnnotation(AggregateReference.class);
@@ -0,0 +1,133 @@
+package io.preboot.query;
+
+import io.preboot.query.exception.InvalidFilterCriteriaException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row returned by a keyset (seek) search. The cursor is serialized to an opaque, URL-safe token
+ * holding the sort field name, the last sort key and the last id. Values keep their Java type so they can be bound
+ * directly as seek parameters without any string parsing on the database side.
+ */
+record KeysetCursor(String sortField, Object sortValue, Object id) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    String encode() {
+        return encodePart(sortField) + "." + encodePart(encodeValue(sortValue)) + "." + encodePart(encodeValue(id));
+    }
+
+    static KeysetCursor decode(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            throw malformed(token);
+        }
+        try {
+            return new KeysetCursor(
+                    decodePart(parts[0]), decodeValue(decodePart(parts[1])), decodeValue(decodePart(parts[2])));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw malformed(token);
+        }
+    }
+
+    private static String encodePart(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "z:";
+        }
+        if (value instanceof String s) {
+            return "s:" + s;
+        }
+        if (value instanceof Long l) {
+            return "l:" + l;
+        }
+        if (value instanceof Integer i) {
+            return "i:" + i;
+        }
+        if (value instanceof Short s) {
+            return "h:" + s;
+        }
+        if (value instanceof BigDecimal d) {
+            return "n:" + d.toPlainString();
+        }
+        if (value instanceof Double d) {
+            return "d:" + d;
+        }
+        if (value instanceof Float f) {
+            return "f:" + f;
+        }
+        if (value instanceof Boolean b) {
+            return "b:" + b;
+        }
+        if (value instanceof UUID u) {
+            return "u:" + u;
+        }
+        if (value instanceof Timestamp t) {
+            return "t:" + t.toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime t) {
+            return "t:" + t;
+        }
+        if (value instanceof java.sql.Date d) {
+            return "a:" + d.toLocalDate();
+        }
+        if (value instanceof LocalDate d) {
+            return "a:" + d;
+        }
+        if (value instanceof Instant i) {
+            return "I:" + i;
+        }
+        if (value instanceof OffsetDateTime o) {
+            return "o:" + o;
+        }
+        if (value instanceof Enum<?> e) {
+            return "s:" + e.name();
+        }
+        throw new InvalidFilterCriteriaException(
+                "cursor", "keyset", "Unsupported sort key type: " + value.getClass().getSimpleName());
+    }
+
+    private static Object decodeValue(String encoded) {
+        int separator = encoded.indexOf(':');
+        if (separator != 1) {
+            throw new IllegalArgumentException("Missing type tag");
+        }
+        String raw = encoded.substring(2);
+        return switch (encoded.charAt(0)) {
+            case 'z' -> null;
+            case 's' -> raw;
+            case 'l' -> Long.valueOf(raw);
+            case 'i' -> Integer.valueOf(raw);
+            case 'h' -> Short.valueOf(raw);
+            case 'n' -> new BigDecimal(raw);
+            case 'd' -> Double.valueOf(raw);
+            case 'f' -> Float.valueOf(raw);
+            case 'b' -> Boolean.valueOf(raw);
+            case 'u' -> UUID.fromString(raw);
+            case 't' -> LocalDateTime.parse(raw);
+            case 'a' -> LocalDate.parse(raw);
+            case 'I' -> Instant.parse(raw);
+            case 'o' -> OffsetDateTime.parse(raw);
+            default -> throw new IllegalArgumentException("Unknown type tag");
+        };
+    }
+
+    private static InvalidFilterCriteriaException malformed(String token) {
+        return new InvalidFilterCriteriaException("cursor", "keyset", "Malformed cursor: " + token);
+    }
+}
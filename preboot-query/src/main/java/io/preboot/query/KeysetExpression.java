@@ -0,0 +1,81 @@
+package io.preboot.query;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Seek predicate continuing a keyset search after the row described by a {@link KeysetCursor}. Rows are ordered by
+ * {@code (sort_col, id)} with NULL sort keys treated as the largest value, which is the order a plain btree index on
+ * {@code (sort_col, id)} yields in both directions. Ascending seeks over a nullable column keep an {@code IS NULL}
+ * branch so trailing NULL rows are not lost; primitive or {@link NotNull} sort properties get a pure row-value range
+ * scan.
+ */
+class KeysetExpression implements CriteriaExpression {
+    static final String SORT_PARAM = "keyset_sort";
+    static final String ID_PARAM = "keyset_id";
+
+    private final KeysetCursor cursor;
+    private final Sort.Direction direction;
+
+    KeysetExpression(KeysetCursor cursor, Sort.Direction direction) {
+        this.cursor = cursor;
+        this.direction = direction;
+    }
+
+    @Override
+    public String toSql(SqlContext context) {
+        RelationalPersistentProperty idProperty = context.entity().getRequiredIdProperty();
+        String idRef = "\"base\".\"" + idProperty.getColumnName().getReference() + "\"";
+        String comparison = direction.isAscending() ? ">" : "<";
+
+        if (idProperty.getName().equals(cursor.sortField())) {
+            return idRef + " " + comparison + " :" + ID_PARAM;
+        }
+
+        RelationalPersistentProperty sortProperty =
+                context.propertyResolver().getPropertyByPath(context.entity(), cursor.sortField());
+        String sortRef = "\"base\".\"" + sortProperty.getColumnName().getReference() + "\"";
+
+        if (cursor.sortValue() == null) {
+            // Still inside the NULL block: NULLs come last when ascending and first when descending
+            String withinNulls = "(" + sortRef + " IS NULL AND " + idRef + " " + comparison + " :" + ID_PARAM + ")";
+            return direction.isAscending() ? withinNulls : "(" + withinNulls + " OR " + sortRef + " IS NOT NULL)";
+        }
+
+        String seek = "(" + sortRef + ", " + idRef + ") " + comparison + " (:" + SORT_PARAM + ", :" + ID_PARAM + ")";
+        if (direction.isAscending() && isNullable(sortProperty)) {
+            return "(" + seek + " OR " + sortRef + " IS NULL)";
+        }
+        return seek;
+    }
+
+    /** @return everything the rendered SQL depends on, used as part of the statement cache key */
+    String shape() {
+        return cursor.sortField() + " " + direction + (cursor.sortValue() == null ? " null" : " value");
+    }
+
+    @Override
+    public void addParameters(SqlParameterSource paramSource) {
+        if (paramSource instanceof MapSqlParameterSource mapParamSource) {
+            mapParamSource.addValue(ID_PARAM, toJdbcValue(cursor.id()));
+            if (cursor.sortValue() != null) {
+                mapParamSource.addValue(SORT_PARAM, toJdbcValue(cursor.sortValue()));
+            }
+        }
+    }
+
+    private boolean isNullable(RelationalPersistentProperty property) {
+        return !property.getType().isPrimitive() && !property.isAnnotationPresent(NotNull.class);
+    }
+
+    private Object toJdbcValue(Object value) {
+        if (value instanceof Instant instant) {
+            return java.sql.Timestamp.from(instant);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,24 @@
+package io.preboot.query;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page returned by keyset (seek) searches. Instead of a page number the client passes {@link #getNextCursor()} back as
+ * {@link SearchParams#getCursor()} to fetch the following page, which keeps deep paging constant-time.
+ *
+ * @param <T> Element type
+ */
+public class KeysetPage<T> extends SearchPage<T> {
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, Pageable pageable, long total, CountMode countMode, String nextCursor) {
+        super(content, pageable, total, countMode, nextCursor != null);
+        this.nextCursor = nextCursor;
+    }
+
+    /** @return token continuing after the last element of this page, or {@code null} when there are no more rows */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,51 @@
+package io.preboot.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Row mapper decorator remembering the sort key and id of the last row of the page to build the next keyset cursor.
+ * Keyset queries read one row past the page end, so the captured row is the one at {@code pageSize - 1}.
+ */
+class KeysetRowMapper<R> implements RowMapper<R> {
+    private final RowMapper<R> delegate;
+    private final String sortField;
+    private final String sortColumn;
+    private final String idColumn;
+    private final int pageSize;
+    private Object lastSortValue;
+    private Object lastId;
+
+    /**
+     * @param sortColumn result column holding the sort key, or {@code null} when the search is sorted by id only
+     * @param idColumn result column holding the entity id
+     */
+    KeysetRowMapper(RowMapper<R> delegate, String sortField, String sortColumn, String idColumn, int pageSize) {
+        this.delegate = delegate;
+        this.sortField = sortField;
+        this.sortColumn = sortColumn;
+        this.idColumn = idColumn;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public R mapRow(ResultSet rs, int rowNum) throws SQLException {
+        R row = delegate.mapRow(rs, rowNum);
+        if (rowNum == pageSize - 1) {
+            if (sortColumn != null) {
+                lastSortValue = rs.getObject(sortColumn);
+            }
+            lastId = rs.getObject(idColumn);
+        }
+        return row;
+    }
+
+    /** @return cursor after the last row of the page, or {@code null} when no further row was read */
+    String nextCursor(boolean hasNext) {
+        if (!hasNext) {
+            return null;
+        }
+        return new KeysetCursor(sortField, lastSortValue, lastId).encode();
+    }
+}
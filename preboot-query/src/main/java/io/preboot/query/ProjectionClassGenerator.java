@@ -0,0 +1,127 @@
+package io.preboot.query;
+
+import io.preboot.query.ProjectionDescriptor.DirectProperty;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Defines a hidden class implementing a {@link GeneratedProjection} interface. The class has a final field per getter
+ * and a constructor copying the fields from an {@code Object[]} ordered like the descriptor's direct properties.
+ */
+final class ProjectionClassGenerator {
+    private static final String OBJECT = Type.getInternalName(Object.class);
+
+    private ProjectionClassGenerator() {}
+
+    /**
+     * @return instantiator calling the generated constructor; values of primitive getters must not be {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object[], Object> generate(Class<?> projectionType, List<DirectProperty> properties) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(projectionType, MethodHandles.lookup())
+                    .defineHiddenClass(generateClass(projectionType, properties), true);
+            Class<?> generated = lookup.lookupClass();
+
+            MethodHandle constructor =
+                    lookup.findConstructor(generated, MethodType.methodType(void.class, Object[].class));
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    constructor,
+                    MethodType.methodType(generated, Object[].class));
+            return (Function<Object[], Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot generate projection class for " + projectionType.getName(), e);
+        }
+    }
+
+    private static byte[] generateClass(Class<?> projectionType, List<DirectProperty> properties) {
+        String interfaceName = Type.getInternalName(projectionType);
+        String className = interfaceName + "$Generated";
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(
+                Opcodes.V17,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                className,
+                null,
+                OBJECT,
+                new String[] {interfaceName});
+
+        for (int i = 0; i < properties.size(); i++) {
+            cw.visitField(
+                            Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                            fieldName(i),
+                            Type.getDescriptor(properties.get(i).type()),
+                            null,
+                            null)
+                    .visitEnd();
+        }
+
+        generateConstructor(cw, className, properties);
+        for (int i = 0; i < properties.size(); i++) {
+            generateGetter(cw, className, i, properties.get(i));
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void generateConstructor(ClassWriter cw, String className, List<DirectProperty> properties) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+
+        for (int i = 0; i < properties.size(); i++) {
+            Class<?> type = properties.get(i).type();
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(Opcodes.AALOAD);
+            if (type.isPrimitive()) {
+                // Unbox through the wrapper, e.g. ((Integer) values[i]).intValue()
+                String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+                String unbox = type.getName() + "Value";
+                mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, unbox, "()" + Type.getDescriptor(type), false);
+            } else {
+                mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+            }
+            mv.visitFieldInsn(Opcodes.PUTFIELD, className, fieldName(i), Type.getDescriptor(type));
+        }
+
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void generateGetter(ClassWriter cw, String className, int index, DirectProperty property) {
+        Type type = Type.getType(property.type());
+        MethodVisitor mv =
+                cw.visitMethod(Opcodes.ACC_PUBLIC, property.getter(), "()" + type.getDescriptor(), null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, className, fieldName(index), type.getDescriptor());
+        mv.visitInsn(type.getOpcode(Opcodes.IRETURN));
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static String fieldName(int index) {
+        return "value" + index;
+    }
+}
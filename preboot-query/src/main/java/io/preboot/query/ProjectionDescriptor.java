@@ -0,0 +1,244 @@
+package io.preboot.query;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.relational.core.mapping.RelationalMappingContext;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+
+/**
+ * Mapping plan of a projection interface over an entity. The plan lists the result column behind every getter, the
+ * columns of every aggregate reference, and how each collection is loaded and shaped. It is built once per projection
+ * type, so mapping a row needs no reflection, annotation lookups or SpEL string parsing.
+ */
+@Getter
+@Slf4j
+final class ProjectionDescriptor {
+    /** Getter read straight from a result column. */
+    record DirectProperty(String name, String column, Class<?> type, String getter) {}
+
+    /** Aggregate reference assembled into a nested map from its {@code <alias>_<column>} result columns. */
+    record ReferenceProperty(String name, List<String> targetProperties, List<String> columns) {}
+
+    /**
+     * Collection loaded separately (or decoded from JSON when inline) and exposed as a list of item projections, or
+     * as raw item maps when the item type is not an interface.
+     *
+     * @param itemReference aggregate reference of the collection entity nested under {@code itemReferenceName}, or
+     *     {@code null} when items are not restructured
+     * @param itemPropertyTypes mapped type of every item property, including those of the referenced entity
+     */
+    record CollectionProperty(
+            String name,
+            RelationalPersistentProperty property,
+            Class<?> itemType,
+            AggregateReference itemReference,
+            String itemReferenceName,
+            Map<String, Class<?>> itemPropertyTypes) {}
+
+    private final Class<?> projectionType;
+    private final boolean inlineCollections;
+    private final List<DirectProperty> directProperties;
+    private final List<ReferenceProperty> references;
+    private final List<CollectionProperty> collections;
+    // Creates a @GeneratedProjection instance from the direct property values, null for proxy-backed projections
+    private final Function<Object[], Object> instantiator;
+
+    private ProjectionDescriptor(
+            Class<?> projectionType,
+            List<DirectProperty> directProperties,
+            List<ReferenceProperty> references,
+            List<CollectionProperty> collections,
+            Function<Object[], Object> instantiator) {
+        this.projectionType = projectionType;
+        this.inlineCollections = projectionType.isAnnotationPresent(InlineCollections.class);
+        this.directProperties = List.copyOf(directProperties);
+        this.references = List.copyOf(references);
+        this.collections = List.copyOf(collections);
+        this.instantiator = instantiator;
+    }
+
+    boolean isGenerated() {
+        return instantiator != null;
+    }
+
+    static ProjectionDescriptor of(
+            RelationalPersistentEntity<?> entity,
+            Class<?> projectionType,
+            RelationalMappingContext mappingContext,
+            PropertyResolver propertyResolver) {
+        log.debug("Building projection descriptor for type: {}", projectionType.getName());
+
+        List<DirectProperty> directProperties = new ArrayList<>();
+        List<ReferenceProperty> references = new ArrayList<>();
+        List<CollectionProperty> collections = new ArrayList<>();
+        boolean generated = projectionType.isAnnotationPresent(GeneratedProjection.class);
+        if (generated && !projectionType.isInterface()) {
+            throw new IllegalStateException("@GeneratedProjection requires an interface: " + projectionType.getName());
+        }
+
+        for (Method method : projectionType.getMethods()) {
+            // Static helpers of the interface are not properties of the projection
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Value valueAnn = method.getAnnotation(Value.class);
+            if (generated) {
+                if (method.isDefault()) {
+                    continue;
+                }
+                if (valueAnn != null || !isGetter(method)) {
+                    throw new IllegalStateException("@GeneratedProjection " + projectionType.getSimpleName()
+                            + " supports plain getters only, found: " + method.getName());
+                }
+            }
+            if (valueAnn == null) {
+                if (isGetter(method)) {
+                    String propertyName = getPropertyNameFromGetter(method);
+                    directProperties.add(new DirectProperty(
+                            propertyName, toSnakeCase(propertyName), method.getReturnType(), method.getName()));
+                }
+                continue;
+            }
+
+            String spelExpr = valueAnn.value();
+            if (!spelExpr.startsWith("#{target.")) {
+                continue;
+            }
+
+            String prefix = spelExpr.replace("#{target.", "").replace("}", "").split("\\.")[0];
+            // Skip arithmetic and conditional expressions
+            if (prefix.contains("+")
+                    || prefix.contains("-")
+                    || prefix.contains("*")
+                    || prefix.contains("/")
+                    || prefix.contains("?")
+                    || prefix.contains(">")
+                    || prefix.contains("<")) {
+                log.debug("Skipping arithmetic/conditional expression: {}", prefix);
+                continue;
+            }
+
+            RelationalPersistentProperty property = entity.getPersistentProperty(prefix);
+            if (property == null) {
+                property = propertyResolver.findPropertyByReferenceAlias(entity, prefix);
+            }
+            if (property == null) {
+                log.warn("Projection {} refers to unknown property: {}", projectionType.getSimpleName(), prefix);
+                continue;
+            }
+
+            if (property.isCollectionLike()) {
+                if (method.getReturnType().equals(List.class)) {
+                    collections.add(createCollectionProperty(
+                            entity, prefix, property, method, mappingContext, propertyResolver));
+                }
+            } else {
+                AggregateReference reference = property.findAnnotation(AggregateReference.class);
+                if (reference != null) {
+                    RelationalPersistentEntity<?> targetEntity =
+                            mappingContext.getRequiredPersistentEntity(reference.target());
+                    List<String> targetProperties = new ArrayList<>();
+                    List<String> columns = new ArrayList<>();
+                    for (RelationalPersistentProperty targetProp : targetEntity) {
+                        targetProperties.add(targetProp.getName());
+                        columns.add(reference.alias() + "_" + targetProp.getColumnName().getReference());
+                    }
+                    references.add(new ReferenceProperty(prefix, targetProperties, columns));
+                }
+            }
+        }
+
+        Function<Object[], Object> instantiator =
+                generated ? ProjectionClassGenerator.generate(projectionType, directProperties) : null;
+        return new ProjectionDescriptor(projectionType, directProperties, references, collections, instantiator);
+    }
+
+    private static CollectionProperty createCollectionProperty(
+            RelationalPersistentEntity<?> entity,
+            String prefix,
+            RelationalPersistentProperty property,
+            Method method,
+            RelationalMappingContext mappingContext,
+            PropertyResolver propertyResolver) {
+        RelationalPersistentEntity<?> collectionEntity = propertyResolver.getNestedEntity(entity, prefix);
+        AggregateReference collectionReference = propertyResolver.findFirstAggregateReference(collectionEntity);
+
+        Map<String, Class<?>> itemPropertyTypes = new HashMap<>();
+        collectionEntity.forEach(prop -> itemPropertyTypes.put(prop.getName(), prop.getType()));
+        if (collectionReference != null) {
+            mappingContext
+                    .getRequiredPersistentEntity(collectionReference.target())
+                    .forEach(prop -> itemPropertyTypes.putIfAbsent(prop.getName(), prop.getType()));
+        }
+
+        Class<?> itemType = getCollectionItemType(method);
+        String referenceName = null;
+        if (itemType != null && itemType.isInterface()) {
+            // Find the reference name from @Value annotations of the item projection
+            referenceName = Arrays.stream(itemType.getMethods())
+                    .map(itemMethod -> itemMethod.getAnnotation(Value.class))
+                    .filter(Objects::nonNull)
+                    .map(Value::value)
+                    .filter(itemSpel -> itemSpel.startsWith("#{target."))
+                    .map(itemSpel -> itemSpel.replace("#{target.", "").replace("}", "").split("\\."))
+                    .filter(itemParts -> itemParts.length > 1)
+                    .findFirst()
+                    .map(itemParts -> itemParts[0])
+                    .orElse(null);
+        }
+
+        return new CollectionProperty(
+                prefix,
+                property,
+                itemType,
+                referenceName != null ? collectionReference : null,
+                referenceName,
+                Map.copyOf(itemPropertyTypes));
+    }
+
+    private static Class<?> getCollectionItemType(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> itemType) {
+            return itemType;
+        }
+        return null;
+    }
+
+    private static boolean isGetter(Method method) {
+        String name = method.getName();
+        return (name.startsWith("get") || name.startsWith("is"))
+                && method.getParameterCount() == 0
+                && !method.getReturnType().equals(void.class)
+                && !name.equals("getClass");
+    }
+
+    private static String getPropertyNameFromGetter(Method getter) {
+        String name = getter.getName();
+        if (name.startsWith("get")) {
+            name = name.substring(3);
+        } else if (name.startsWith("is")) {
+            name = name.substring(2);
+        }
+        return name.substring(0, 1).toLowerCase() + name.substring(1);
+    }
+
+    private static String toSnakeCase(String input) {
+        String regex = "([a-z])([A-Z])";
+        String replacement = "$1_$2";
+        return input.replaceAll(regex, replacement).toLowerCase();
+    }
+}
@@ -1,17 +1,28 @@
 package io.preboot.query;
 
-import java.lang.reflect.Method;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.preboot.query.ProjectionDescriptor.CollectionProperty;
+import io.preboot.query.ProjectionDescriptor.DirectProperty;
+import io.preboot.query.ProjectionDescriptor.ReferenceProperty;
+import java.lang.reflect.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.relational.core.mapping.RelationalMappingContext;
@@ -20,14 +31,28 @@ import org.springframework.data.relational.core.mapping.RelationalPersistentProp
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
+/**
+ * Maps projection query rows following a {@link ProjectionDescriptor}. Column positions are looked up on the first row
+ * of a query; later rows are read by index.
+ */
 @Slf4j
 class ProjectionHelper {
+    private static final String PARENT_ID_COLUMN = "__parent_id";
+    private static final ObjectReader INLINE_COLLECTION_READER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .readerFor(new TypeReference<List<Map<String, Object>>>() {});
+    // Collection column names are few and fixed, so their camelCase form is computed once
+    private static final Map<String, String> CAMEL_CASE_NAMES = new ConcurrentHashMap<>();
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final ProjectionFactory projectionFactory;
     private final RelationalMappingContext mappingContext;
     private final ConversionService conversionService;
     private final PropertyResolver propertyResolver;
     private final Map<String, List<Map<String, Object>>> collectionCache;
+    private final List<PendingCollection> pendingCollections = new ArrayList<>();
+    private ColumnIndexes columnIndexes;
+    private Object[] generatedValues;
 
     ProjectionHelper(
             final NamedParameterJdbcTemplate jdbcTemplate,
@@ -45,258 +70,251 @@ class ProjectionHelper {
     }
 
     Map<String, Object> processProjectionRow(
-            ResultSet rs, Class<?> projectionType, RelationalPersistentEntity<?> entity) throws SQLException {
-        log.debug("Starting projection mapping for type: {}", projectionType.getName());
+            ResultSet rs, ProjectionDescriptor descriptor, RelationalPersistentEntity<?> entity) throws SQLException {
+        if (columnIndexes == null || columnIndexes.descriptor() != descriptor) {
+            columnIndexes = ColumnIndexes.resolve(rs, descriptor);
+        }
 
         Map<String, Object> propertyValues = new HashMap<>();
-        processDirectProperties(rs, projectionType, propertyValues);
-        processSpELExpressions(rs, projectionType, entity, propertyValues);
-
-        log.debug("Final property values map: {}", propertyValues);
+        processDirectProperties(rs, descriptor, propertyValues);
+        processReferences(rs, descriptor, propertyValues);
+        processCollections(rs, descriptor, entity, propertyValues);
         return propertyValues;
     }
 
-    private void processDirectProperties(ResultSet rs, Class<?> projectionType, Map<String, Object> propertyValues)
+    /**
+     * Maps a row to a {@link GeneratedProjection} instance. The values array is reused across rows since the generated
+     * constructor copies it into fields.
+     */
+    Object createGeneratedProjection(ResultSet rs, ProjectionDescriptor descriptor) throws SQLException {
+        if (columnIndexes == null || columnIndexes.descriptor() != descriptor) {
+            columnIndexes = ColumnIndexes.resolve(rs, descriptor);
+            generatedValues = new Object[descriptor.getDirectProperties().size()];
+        }
+
+        List<DirectProperty> directProperties = descriptor.getDirectProperties();
+        for (int i = 0; i < generatedValues.length; i++) {
+            Class<?> type = directProperties.get(i).type();
+            Object value = getValueFromResultSet(rs, columnIndexes.direct()[i], type);
+            generatedValues[i] = value == null && type.isPrimitive() ? defaultValue(type) : value;
+        }
+        return descriptor.getInstantiator().apply(generatedValues);
+    }
+
+    private void processDirectProperties(
+            ResultSet rs, ProjectionDescriptor descriptor, Map<String, Object> propertyValues) throws SQLException {
+        List<DirectProperty> directProperties = descriptor.getDirectProperties();
+        for (int i = 0; i < directProperties.size(); i++) {
+            DirectProperty property = directProperties.get(i);
+            Object value = getValueFromResultSet(rs, columnIndexes.direct()[i], property.type());
+            if (value != null) {
+                propertyValues.put(property.name(), value);
+            }
+        }
+    }
+
+    private void processReferences(ResultSet rs, ProjectionDescriptor descriptor, Map<String, Object> propertyValues)
             throws SQLException {
-        log.debug("Starting direct property processing");
-        for (Method method : projectionType.getMethods()) {
-            if (isGetter(method) && method.getAnnotation(Value.class) == null) {
-                String propertyName = getPropertyNameFromGetter(method);
-                try {
-                    String columnName = toSnakeCase(propertyName);
-                    Object value = getValueFromResultSet(rs, columnName, method.getReturnType());
-                    log.debug("Direct property mapping: {} -> {} = {}", propertyName, columnName, value);
+        List<ReferenceProperty> references = descriptor.getReferences();
+        for (int i = 0; i < references.size(); i++) {
+            ReferenceProperty reference = references.get(i);
+            int[] indexes = columnIndexes.references()[i];
+
+            Map<String, Object> refMap = new HashMap<>();
+            for (int column = 0; column < indexes.length; column++) {
+                if (indexes[column] > 0) {
+                    Object value = rs.getObject(indexes[column]);
                     if (value != null) {
-                        propertyValues.put(propertyName, value);
+                        refMap.put(reference.targetProperties().get(column), value);
                     }
-                } catch (SQLException e) {
-                    log.error("Failed to get column {}: {}", propertyName, e.getMessage());
-                    throw e;
                 }
             }
+
+            if (!refMap.isEmpty()) {
+                propertyValues.put(reference.name(), refMap);
+            }
         }
     }
 
-    private void processSpELExpressions(
+    private void processCollections(
             ResultSet rs,
-            Class<?> projectionType,
+            ProjectionDescriptor descriptor,
             RelationalPersistentEntity<?> entity,
             Map<String, Object> propertyValues)
             throws SQLException {
-        log.debug("Starting SpEL expression processing");
-        for (Method method : projectionType.getMethods()) {
-            Value valueAnn = method.getAnnotation(Value.class);
-            if (valueAnn != null) {
-                String spelExpr = valueAnn.value();
-                log.debug("Processing SpEL expression method: {} with expression: {}", method.getName(), spelExpr);
-
-                if (spelExpr.startsWith("#{target.")) {
-                    String propPath = spelExpr.replace("#{target.", "").replace("}", "");
-                    String[] parts = propPath.split("\\.");
-
-                    if (parts.length > 0) {
-                        String prefix = parts[0];
-                        log.debug("Processing property path prefix: {}", prefix);
-
-                        // Skip arithmetic expressions
-                        if (!prefix.contains("+")
-                                && !prefix.contains("-")
-                                && !prefix.contains("*")
-                                && !prefix.contains("/")
-                                && !prefix.contains("?")
-                                && !prefix.contains(">")
-                                && !prefix.contains("<")) {
-
-                            log.debug("Looking up property: {}", prefix);
-                            RelationalPersistentProperty property = entity.getPersistentProperty(prefix);
-                            if (property == null) {
-                                log.debug("Property not found directly, trying by reference alias: {}", prefix);
-                                property = propertyResolver.findPropertyByReferenceAlias(entity, prefix);
-                            }
-
-                            if (property != null) {
-                                log.debug(
-                                        "Found property of type: {}",
-                                        property.getType().getSimpleName());
-
-                                if (property.isCollectionLike()) {
-                                    log.debug("Processing collection property: {}", prefix);
-                                    Long id = rs.getLong("id");
-                                    List<Map<String, Object>> items = loadCollectionWithCache(id, property, entity);
-
-                                    if (method.getReturnType().equals(List.class)) {
-                                        Class<?> itemType = getCollectionItemType(method);
-                                        if (itemType != null && itemType.isInterface()) {
-                                            // Check if the item type has any @Value annotations
-                                            Method[] itemMethods = itemType.getMethods();
-                                            String referenceName = Arrays.stream(itemMethods)
-                                                    .map(itemMethod -> itemMethod.getAnnotation(Value.class))
-                                                    .filter(Objects::nonNull)
-                                                    .map(Value::value)
-                                                    .filter(itemSpel -> itemSpel.startsWith("#{target."))
-                                                    .map(itemSpel -> itemSpel.replace("#{target.", "")
-                                                            .replace("}", "")
-                                                            .split("\\."))
-                                                    .filter(itemParts -> itemParts.length > 1)
-                                                    .findFirst()
-                                                    .map(itemParts -> itemParts[0])
-                                                    .orElse(null);
-
-                                            // Find the reference name from @Value annotations
-
-                                            if (referenceName != null) {
-                                                // Find the AggregateReference info from collection entity
-                                                RelationalPersistentEntity<?> collectionEntity =
-                                                        mappingContext.getRequiredPersistentEntity(
-                                                                property.getActualType());
-                                                AggregateReference collectionReference = null;
-
-                                                for (RelationalPersistentProperty prop : collectionEntity) {
-                                                    collectionReference = prop.findAnnotation(AggregateReference.class);
-                                                    if (collectionReference != null) {
-                                                        break;
-                                                    }
-                                                }
-
-                                                if (collectionReference != null) {
-                                                    final AggregateReference finalCollectionReference =
-                                                            collectionReference;
-                                                    items = items.stream()
-                                                            .map(item -> {
-                                                                Map<String, Object> restructured = new HashMap<>();
-                                                                Map<String, Object> refData = new HashMap<>();
-
-                                                                // Put all values in refData first
-                                                                item.forEach((key, value) -> refData.put(key, value));
-
-                                                                // Keep ID and the source column in the root
-                                                                restructured.put("id", item.get("id"));
-                                                                restructured.put(
-                                                                        finalCollectionReference.sourceColumn(),
-                                                                        item.get(
-                                                                                finalCollectionReference
-                                                                                        .sourceColumn()));
-
-                                                                // Add reference data under the alias
-                                                                restructured.put(referenceName, refData);
-
-                                                                return restructured;
-                                                            })
-                                                            .collect(Collectors.toList());
-                                                }
-                                            }
-
-                                            List<Object> projectedItems = new ArrayList<>();
-                                            for (Map<String, Object> item : items) {
-                                                Object projection = projectionFactory.createProjection(itemType, item);
-                                                projectedItems.add(projection);
-                                            }
-                                            propertyValues.put(prefix, projectedItems);
-                                            log.debug(
-                                                    "Added projected collection: {} -> {} items",
-                                                    prefix,
-                                                    projectedItems.size());
-                                        } else {
-                                            propertyValues.put(prefix, items);
-                                            log.debug("Added raw collection: {} items", items.size());
-                                        }
-                                    }
-                                } else {
-                                    // Handle aggregate reference
-                                    AggregateReference reference = property.findAnnotation(AggregateReference.class);
-                                    if (reference != null) {
-                                        log.debug(
-                                                "Processing aggregate reference for {} with alias {}",
-                                                prefix,
-                                                reference.alias());
-
-                                        Map<String, Object> refMap = new HashMap<>();
-                                        RelationalPersistentEntity<?> targetEntity =
-                                                mappingContext.getRequiredPersistentEntity(reference.target());
-
-                                        for (RelationalPersistentProperty targetProp : targetEntity) {
-                                            String columnAlias = reference.alias() + "_"
-                                                    + targetProp.getColumnName().getReference();
-                                            try {
-                                                Object value = rs.getObject(columnAlias);
-                                                if (value != null) {
-                                                    refMap.put(targetProp.getName(), value);
-                                                    log.debug(
-                                                            "Added reference value: {} -> {}",
-                                                            targetProp.getName(),
-                                                            value);
-                                                }
-                                            } catch (SQLException e) {
-                                                log.error("Failed to read column {}: {}", columnAlias, e.getMessage());
-                                            }
-                                        }
-
-                                        if (!refMap.isEmpty()) {
-                                            propertyValues.put(prefix, refMap);
-                                            log.debug("Added reference to property values: {} -> {}", prefix, refMap);
-                                        }
-                                    }
-                                }
-                            } else {
-                                log.error("Property not found by name or alias: {}", prefix);
-                            }
-                        } else {
-                            log.debug("Skipping arithmetic/conditional expression: {}", prefix);
-                        }
-                    }
-                }
+        List<CollectionProperty> collections = descriptor.getCollections();
+        for (int i = 0; i < collections.size(); i++) {
+            CollectionProperty collection = collections.get(i);
+            if (descriptor.isInlineCollections()) {
+                List<Map<String, Object>> items = readInlineCollection(rs, columnIndexes.collections()[i], collection);
+                propertyValues.put(collection.name(), toCollectionValue(collection, items));
+            } else {
+                // Loaded for all rows at once by loadPendingCollections
+                pendingCollections.add(
+                        new PendingCollection(propertyValues, rs.getLong(columnIndexes.id()), collection, entity));
             }
         }
     }
 
-    private Class<?> getCollectionItemType(Method method) {
+    /**
+     * Loads the collections of every row processed since the last call with one query per collection property and
+     * puts them into the rows' property values.
+     */
+    void loadPendingCollections() {
+        if (pendingCollections.isEmpty()) {
+            return;
+        }
+
+        Map<CollectionProperty, List<PendingCollection>> byProperty = pendingCollections.stream()
+                .collect(Collectors.groupingBy(PendingCollection::collection, LinkedHashMap::new, Collectors.toList()));
+        pendingCollections.clear();
+
+        byProperty.forEach((collection, pending) -> {
+            List<Long> ids = pending.stream().map(PendingCollection::id).distinct().toList();
+            Map<Long, List<Map<String, Object>>> itemsById =
+                    loadCollectionsWithCache(ids, collection.property(), pending.get(0).entity());
+
+            for (PendingCollection row : pending) {
+                List<Map<String, Object>> items = itemsById.getOrDefault(row.id(), List.of());
+                row.propertyValues().put(collection.name(), toCollectionValue(collection, items));
+            }
+        });
+    }
+
+    /** Decodes the JSON array aggregated by the projection query for an {@link InlineCollections} projection. */
+    private List<Map<String, Object>> readInlineCollection(ResultSet rs, int columnIndex, CollectionProperty collection)
+            throws SQLException {
+        String json = rs.getString(columnIndex);
+        if (json == null) {
+            return List.of();
+        }
+
+        List<Map<String, Object>> rows;
         try {
-            // Extract collection item type from generic parameter
-            String genericTypeName = method.getGenericReturnType().getTypeName();
-            if (genericTypeName.contains("<")) {
-                String itemTypeName =
-                        genericTypeName.substring(genericTypeName.indexOf("<") + 1, genericTypeName.lastIndexOf(">"));
-                return Class.forName(itemTypeName);
+            rows = INLINE_COLLECTION_READER.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Cannot decode inline collection " + collection.name(), e);
+        }
+
+        // Same keys as the batched loader; JSON scalars are converted back to the mapped property types
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> converted = new HashMap<>();
+            for (Map.Entry<String, Object> column : row.entrySet()) {
+                String name = toCamelCase(column.getKey());
+                Class<?> targetType = collection.itemPropertyTypes().get(name);
+                Object value = column.getValue();
+                converted.put(name, targetType != null ? convertJsonValue(value, targetType) : value);
             }
-        } catch (Exception e) {
-            log.error("Failed to get collection item type: {}", e.getMessage());
+            items.add(converted);
         }
-        return null;
+        return items;
     }
 
-    private List<Map<String, Object>> loadCollectionWithCache(
-            Long id, RelationalPersistentProperty property, final RelationalPersistentEntity<?> entity) {
-        if (collectionCache != null) {
-            final String propertyName = property.getName();
-            final String cacheKey = entity.getType().getSimpleName() + "." + propertyName + "." + id;
-            log.debug("Loading collection items for property: {} with cache key: {}", propertyName, cacheKey);
-            return collectionCache.computeIfAbsent(cacheKey, key -> loadCollection(id, property, entity));
-        } else {
-            return loadCollection(id, property, entity);
+    private Object convertJsonValue(Object value, Class<?> targetType) {
+        if (value == null || targetType.isInstance(value)) {
+            return value;
         }
+        if (value instanceof String text) {
+            if (LocalDateTime.class.equals(targetType)) {
+                return LocalDateTime.parse(text);
+            } else if (LocalDate.class.equals(targetType)) {
+                return LocalDate.parse(text);
+            } else if (OffsetDateTime.class.equals(targetType)) {
+                return OffsetDateTime.parse(text);
+            } else if (Instant.class.equals(targetType)) {
+                return OffsetDateTime.parse(text).toInstant();
+            }
+        }
+        if (conversionService.canConvert(value.getClass(), targetType)) {
+            return conversionService.convert(value, targetType);
+        }
+        return value;
     }
 
-    private List<Map<String, Object>> loadCollection(
-            Long id, RelationalPersistentProperty property, final RelationalPersistentEntity<?> entity) {
-        log.debug("Loading collection items for property: {}", property.getName());
+    private Object toCollectionValue(CollectionProperty collection, List<Map<String, Object>> items) {
+        Class<?> itemType = collection.itemType();
+        if (itemType == null || !itemType.isInterface()) {
+            return items;
+        }
+
+        AggregateReference reference = collection.itemReference();
+        if (reference != null) {
+            items = items.stream()
+                    .map(item -> {
+                        Map<String, Object> restructured = new HashMap<>();
+                        Map<String, Object> refData = new HashMap<>(item);
 
-        RelationalPersistentEntity<?> collectionEntity =
-                mappingContext.getRequiredPersistentEntity(property.getActualType());
+                        // Keep ID and the source column in the root
+                        restructured.put("id", item.get("id"));
+                        restructured.put(reference.sourceColumn(), item.get(reference.sourceColumn()));
 
-        // Check if this collection has any AggregateReferences
-        AggregateReference reference = null;
-        for (RelationalPersistentProperty prop : collectionEntity) {
-            reference = prop.findAnnotation(AggregateReference.class);
-            if (reference != null) {
-                break;
+                        // Add reference data under the alias
+                        restructured.put(collection.itemReferenceName(), refData);
+
+                        return restructured;
+                    })
+                    .collect(Collectors.toList());
+        }
+
+        List<Object> projectedItems = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            projectedItems.add(projectionFactory.createProjection(itemType, item));
+        }
+        return projectedItems;
+    }
+
+    private Map<Long, List<Map<String, Object>>> loadCollectionsWithCache(
+            List<Long> ids, RelationalPersistentProperty property, final RelationalPersistentEntity<?> entity) {
+        if (collectionCache == null) {
+            return loadCollections(ids, property, entity);
+        }
+
+        final String keyPrefix = entity.getType().getSimpleName() + "." + property.getName() + ".";
+        Map<Long, List<Map<String, Object>>> result = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            List<Map<String, Object>> cached = collectionCache.get(keyPrefix + id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            log.debug("Loading {} uncached collections for property: {}", missingIds.size(), property.getName());
+            Map<Long, List<Map<String, Object>>> loaded = loadCollections(missingIds, property, entity);
+            for (Long id : missingIds) {
+                List<Map<String, Object>> items = loaded.getOrDefault(id, List.of());
+                collectionCache.put(keyPrefix + id, items);
+                result.put(id, items);
             }
         }
+        return result;
+    }
+
+    private Map<Long, List<Map<String, Object>>> loadCollections(
+            List<Long> ids, RelationalPersistentProperty property, final RelationalPersistentEntity<?> entity) {
+        log.debug("Loading collection items for property: {} and {} parents", property.getName(), ids.size());
+
+        RelationalPersistentEntity<?> collectionEntity = propertyResolver.getNestedEntity(entity, property.getName());
+        String foreignKeyColumn = property.getReverseColumnName(entity).getReference();
+
+        // Check if this collection has any AggregateReferences
+        AggregateReference reference = propertyResolver.findFirstAggregateReference(collectionEntity);
 
+        // The parent id gets its own alias so reference columns can never shadow it
         StringBuilder sql = new StringBuilder();
+        sql.append("SELECT collection.\"")
+                .append(foreignKeyColumn)
+                .append("\" AS \"")
+                .append(PARENT_ID_COLUMN)
+                .append("\", collection.*");
 
         // If we have an aggregate reference, join with its table
         if (reference != null) {
-            sql.append("SELECT collection.*, ref.* FROM \"")
+            sql.append(", ref.* FROM \"")
                     .append(collectionEntity.getTableName().getReference())
                     .append("\" collection");
 
@@ -310,40 +328,44 @@ class ProjectionHelper {
                     .append(reference.targetColumn())
                     .append("\"");
         } else {
-            sql.append("SELECT collection.* FROM \"")
+            sql.append(" FROM \"")
                     .append(collectionEntity.getTableName().getReference())
                     .append("\" collection");
         }
 
         sql.append(" WHERE collection.\"")
-                .append(property.getReverseColumnName(entity).getReference())
-                .append("\" = :entityId ORDER BY collection.\"id\"");
+                .append(foreignKeyColumn)
+                .append("\" = ANY(:entityIds)");
+        String itemOrderColumn = SqlBuilder.getCollectionOrderColumn(collectionEntity, property);
+        if (itemOrderColumn != null) {
+            sql.append(" ORDER BY collection.\"").append(itemOrderColumn).append("\"");
+        }
 
         String sqlString = sql.toString();
         log.debug("Collection loading SQL: {}", sqlString);
 
-        var params = new MapSqlParameterSource("entityId", id);
+        var params = new MapSqlParameterSource("entityIds", ArraySqlValue.create(ids.toArray()));
         List<Map<String, Object>> results = jdbcTemplate.queryForList(sqlString, params);
 
         log.debug("Loaded {} collection items", results.size());
 
-        // Convert column names from snake_case to camelCase
-        return results.stream()
-                .map(row -> {
-                    Map<String, Object> converted = new HashMap<>();
-
-                    row.forEach((key, value) -> {
-                        String camelKey = toCamelCase(key);
-                        converted.put(camelKey, value);
-                    });
-
-                    return converted;
-                })
-                .collect(Collectors.toList());
+        // Group by parent and convert column names from snake_case to camelCase
+        Map<Long, List<Map<String, Object>>> itemsById = new HashMap<>();
+        for (Map<String, Object> row : results) {
+            Long parentId = ((Number) row.remove(PARENT_ID_COLUMN)).longValue();
+            Map<String, Object> converted = new HashMap<>();
+            row.forEach((key, value) -> converted.put(toCamelCase(key), value));
+            itemsById.computeIfAbsent(parentId, id -> new ArrayList<>()).add(converted);
+        }
+        return itemsById;
     }
 
     private String toCamelCase(String snake) {
         if (snake == null) return null;
+        return CAMEL_CASE_NAMES.computeIfAbsent(snake, ProjectionHelper::convertToCamelCase);
+    }
+
+    private static String convertToCamelCase(String snake) {
         StringBuilder result = new StringBuilder();
         boolean nextUpper = false;
 
@@ -363,33 +385,8 @@ class ProjectionHelper {
         return result.toString();
     }
 
-    private boolean isGetter(Method method) {
-        String name = method.getName();
-        return (name.startsWith("get") || name.startsWith("is"))
-                && method.getParameterCount() == 0
-                && !method.getReturnType().equals(void.class)
-                && !name.equals("getClass");
-    }
-
-    private String getPropertyNameFromGetter(Method getter) {
-        String name = getter.getName();
-        if (name.startsWith("get")) {
-            name = name.substring(3);
-        } else if (name.startsWith("is")) {
-            name = name.substring(2);
-        }
-        return name.substring(0, 1).toLowerCase() + name.substring(1);
-    }
-
-    private String toSnakeCase(String input) {
-        if (input == null) return null;
-        String regex = "([a-z])([A-Z])";
-        String replacement = "$1_$2";
-        return input.replaceAll(regex, replacement).toLowerCase();
-    }
-
-    private Object getValueFromResultSet(ResultSet rs, String columnName, Class<?> targetType) throws SQLException {
-        Object value = rs.getObject(columnName);
+    private Object getValueFromResultSet(ResultSet rs, int columnIndex, Class<?> targetType) throws SQLException {
+        Object value = rs.getObject(columnIndex);
         if (value == null || rs.wasNull()) {
             return null;
         }
@@ -400,4 +397,71 @@ class ProjectionHelper {
 
         return value;
     }
+
+    private static Object defaultValue(Class<?> primitiveType) {
+        return Array.get(Array.newInstance(primitiveType, 1), 0);
+    }
+
+    /** Collection property of a processed row whose items are still to be loaded. */
+    private record PendingCollection(
+            Map<String, Object> propertyValues,
+            Long id,
+            CollectionProperty collection,
+            RelationalPersistentEntity<?> entity) {}
+
+    /**
+     * Result column positions of a descriptor's properties in the current query. A missing direct column fails as the
+     * lookup by name did; missing reference columns get index 0 and are skipped.
+     */
+    private record ColumnIndexes(
+            ProjectionDescriptor descriptor, int[] direct, int[][] references, int[] collections, int id) {
+
+        static ColumnIndexes resolve(ResultSet rs, ProjectionDescriptor descriptor) throws SQLException {
+            List<DirectProperty> directProperties = descriptor.getDirectProperties();
+            int[] direct = new int[directProperties.size()];
+            for (int i = 0; i < direct.length; i++) {
+                try {
+                    direct[i] = rs.findColumn(directProperties.get(i).column());
+                } catch (SQLException e) {
+                    log.error("Failed to get column {}: {}", directProperties.get(i).name(), e.getMessage());
+                    throw e;
+                }
+            }
+
+            List<ReferenceProperty> referenceProperties = descriptor.getReferences();
+            int[][] references = new int[referenceProperties.size()][];
+            for (int i = 0; i < references.length; i++) {
+                List<String> columns = referenceProperties.get(i).columns();
+                references[i] = new int[columns.size()];
+                for (int column = 0; column < columns.size(); column++) {
+                    references[i][column] = findOptionalColumn(rs, columns.get(column));
+                }
+            }
+
+            List<CollectionProperty> collectionProperties = descriptor.getCollections();
+            int[] collections = new int[collectionProperties.size()];
+            int id = 0;
+            if (!collectionProperties.isEmpty()) {
+                if (descriptor.isInlineCollections()) {
+                    for (int i = 0; i < collections.length; i++) {
+                        collections[i] =
+                                rs.findColumn(collectionProperties.get(i).name() + SqlBuilder.INLINE_COLLECTION_SUFFIX);
+                    }
+                } else {
+                    id = rs.findColumn("id");
+                }
+            }
+
+            return new ColumnIndexes(descriptor, direct, references, collections, id);
+        }
+
+        private static int findOptionalColumn(ResultSet rs, String column) {
+            try {
+                return rs.findColumn(column);
+            } catch (SQLException e) {
+                log.debug("Reference column {} is not part of the query", column);
+                return 0;
+            }
+        }
+    }
 }
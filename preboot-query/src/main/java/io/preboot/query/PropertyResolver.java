@@ -2,20 +2,23 @@ package io.preboot.query;
 
 import io.preboot.query.exception.InvalidFilterCriteriaException;
 import io.preboot.query.exception.PropertyNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.relational.core.mapping.RelationalMappingContext;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
 import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
-@Slf4j
 @Component
 class PropertyResolver {
     private final RelationalMappingContext mappingContext;
     private final ConcurrentMap<PropertyCacheKey, RelationalPersistentProperty> propertyCache;
+    private final ConcurrentMap<Class<?>, EntityIndex> entityIndexes = new ConcurrentHashMap<>();
 
     PropertyResolver(RelationalMappingContext mappingContext) {
         this.mappingContext = mappingContext;
@@ -34,7 +37,7 @@ class PropertyResolver {
         // First check if this is a direct aggregate reference without nesting
         if (!path.contains(".")) {
             RelationalPersistentProperty property = findPropertyByReferenceAlias(entity, path);
-            if (property != null && property.findAnnotation(AggregateReference.class) != null) {
+            if (property != null) {
                 return property;
             }
         }
@@ -44,18 +47,12 @@ class PropertyResolver {
         RelationalPersistentProperty property = null;
 
         for (int i = 0; i < parts.length; i++) {
-            String part = parts[i];
-            log.error(
-                    "Resolving property part: {} for entity: {}",
-                    part,
-                    currentEntity.getType().getSimpleName());
+            EntityIndex index = indexOf(currentEntity);
 
-            // First try to find by reference alias
-            property = findPropertyByReferenceAlias(currentEntity, part);
-
-            // If not found by alias, try direct property
+            // First try to find by reference alias, then as a direct property
+            property = index.referencesByAlias().get(parts[i]);
             if (property == null) {
-                property = currentEntity.getPersistentProperty(part);
+                property = currentEntity.getPersistentProperty(parts[i]);
             }
 
             if (property == null) {
@@ -64,33 +61,14 @@ class PropertyResolver {
 
             // If this is not the last part, get the next entity
             if (i < parts.length - 1) {
-                if (property.isCollectionLike()) {
-                    // For collections, get the element type
-                    currentEntity = mappingContext.getRequiredPersistentEntity(property.getActualType());
-                    log.error(
-                            "Navigating collection to type: {}",
-                            currentEntity.getType().getSimpleName());
-                } else if (property.findAnnotation(AggregateReference.class) != null) {
-                    // For aggregate references, get the target type
-                    AggregateReference reference = property.findAnnotation(AggregateReference.class);
-                    currentEntity = mappingContext.getRequiredPersistentEntity(reference.target());
-                    log.error(
-                            "Navigating reference to type: {}",
-                            currentEntity.getType().getSimpleName());
-                    // Clear property as we're now in a new context
-                    property = null;
-                } else {
+                RelationalPersistentEntity<?> nextEntity = index.collections().get(property.getName());
+                if (nextEntity == null) {
+                    nextEntity = index.referenceTargets().get(property.getName());
+                }
+                if (nextEntity == null) {
                     throw new PropertyNotFoundException("Cannot resolve nested path: " + path);
                 }
-            }
-        }
-
-        // If the last navigation was to an aggregate reference target, we need to find the final property
-        if (property == null) {
-            String lastPart = parts[parts.length - 1];
-            property = currentEntity.getPersistentProperty(lastPart);
-            if (property == null) {
-                throw new PropertyNotFoundException(path);
+                currentEntity = nextEntity;
             }
         }
 
@@ -107,6 +85,11 @@ class PropertyResolver {
         Assert.notNull(rootEntity, "Root entity must not be null!");
         Assert.hasText(collectionName, "Collection name must not be empty!");
 
+        RelationalPersistentEntity<?> nestedEntity = indexOf(rootEntity).collections().get(collectionName);
+        if (nestedEntity != null) {
+            return nestedEntity;
+        }
+
         RelationalPersistentProperty property = rootEntity.getPersistentProperty(collectionName);
 
         if (property == null) {
@@ -123,14 +106,58 @@ class PropertyResolver {
 
     public RelationalPersistentProperty findPropertyByReferenceAlias(
             RelationalPersistentEntity<?> entity, String alias) {
+        return indexOf(entity).referencesByAlias().get(alias);
+    }
+
+    /** Aggregate references declared by the entity, in property order. */
+    public List<AggregateReference> getAggregateReferences(RelationalPersistentEntity<?> entity) {
+        return indexOf(entity).references();
+    }
+
+    /** First aggregate reference of the entity, the one collection items are loaded with, or {@code null}. */
+    public AggregateReference findFirstAggregateReference(RelationalPersistentEntity<?> entity) {
+        List<AggregateReference> references = indexOf(entity).references();
+        return references.isEmpty() ? null : references.get(0);
+    }
+
+    private EntityIndex indexOf(RelationalPersistentEntity<?> entity) {
+        EntityIndex index = entityIndexes.get(entity.getType());
+        return index != null ? index : entityIndexes.computeIfAbsent(entity.getType(), type -> index(entity));
+    }
+
+    private EntityIndex index(RelationalPersistentEntity<?> entity) {
+        Map<String, RelationalPersistentProperty> referencesByAlias = new HashMap<>();
+        List<AggregateReference> references = new ArrayList<>();
+        Map<String, RelationalPersistentEntity<?>> referenceTargets = new HashMap<>();
+        Map<String, RelationalPersistentEntity<?>> collections = new HashMap<>();
         for (RelationalPersistentProperty property : entity) {
             AggregateReference reference = property.findAnnotation(AggregateReference.class);
-            if (reference != null && reference.alias().equals(alias)) {
-                return property;
+            if (reference != null) {
+                referencesByAlias.putIfAbsent(reference.alias(), property);
+                references.add(reference);
+                referenceTargets.put(
+                        property.getName(), mappingContext.getRequiredPersistentEntity(reference.target()));
+            } else if (property.isCollectionLike() && property.isEntity()) {
+                collections.put(
+                        property.getName(), mappingContext.getRequiredPersistentEntity(property.getActualType()));
             }
         }
-        return null;
+        return new EntityIndex(
+                Map.copyOf(referencesByAlias),
+                List.copyOf(references),
+                Map.copyOf(referenceTargets),
+                Map.copyOf(collections));
     }
 
+    /**
+     * Navigation of one entity, built once: reference properties by alias, the declared references, reference targets
+     * and collection element entities by property name.
+     */
+    private record EntityIndex(
+            Map<String, RelationalPersistentProperty> referencesByAlias,
+            List<AggregateReference> references,
+            Map<String, RelationalPersistentEntity<?>> referenceTargets,
+            Map<String, RelationalPersistentEntity<?>> collections) {}
+
     private record PropertyCacheKey(Class<?> entityType, String propertyPath) {}
 }
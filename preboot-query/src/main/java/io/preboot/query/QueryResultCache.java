@@ -0,0 +1,152 @@
+package io.preboot.query;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, time-limited cache of search results of one aggregate type. Entries carry the tenant scope they were
+ * loaded for, so a write only drops the results of the affected tenant and the tenant-independent ones.
+ */
+public final class QueryResultCache {
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    // Invalidation counts, guarded by the entries lock: all of them, those of all scopes and those of each scope
+    private final Map<String, Long> scopeGenerations = new HashMap<>();
+    private long generation;
+    private long globalGeneration;
+
+    QueryResultCache(int maxSize, long ttlSeconds) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** Hit, miss, eviction and invalidation counts since startup, plus the current number of entries. */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size) {}
+
+    @SuppressWarnings("unchecked")
+    <R> R get(String scope, String query, Supplier<R> loader) {
+        Key key = new Key(scope, query);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt() < ttlNanos) {
+                hits.increment();
+                return (R) entry.value();
+            }
+        }
+
+        misses.increment();
+        // Results read by a read-write transaction may include its uncommitted writes
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+
+        long loadedGeneration;
+        synchronized (entries) {
+            loadedGeneration = generationOf(scope);
+        }
+        R value = loader.get();
+        synchronized (entries) {
+            // A write invalidated the scope while loading, so the result may predate it
+            if (generationOf(scope) == loadedGeneration) {
+                entries.put(key, new Entry(value, now));
+            }
+        }
+        return value;
+    }
+
+    // Changes with every invalidation affecting the scope; results without a scope are affected by all of them
+    private long generationOf(String scope) {
+        return scope == null ? generation : globalGeneration + scopeGenerations.getOrDefault(scope, 0L);
+    }
+
+    /** Drops the results loaded for the scope and those loaded without one; a {@code null} scope drops all. */
+    void invalidate(String scope) {
+        invalidations.increment();
+        synchronized (entries) {
+            generation++;
+            if (scope == null) {
+                globalGeneration++;
+                entries.clear();
+            } else {
+                scopeGenerations.merge(scope, 1L, Long::sum);
+                entries.keySet().removeIf(key -> key.scope() == null || key.scope().equals(scope));
+            }
+        }
+    }
+
+    public Stats getStats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), entries.size());
+        }
+    }
+
+    /**
+     * Describes a search so that equal searches get equal keys, including the types of the filter values ({@code 1}
+     * and {@code "1"} may match different rows).
+     */
+    static String keyOf(String operation, SearchParams params) {
+        StringBuilder key = new StringBuilder(operation).append('|');
+        appendFilters(key, params.getFilters());
+        key.append('|')
+                .append(params.isUnpaged() ? "unpaged" : params.getPage() + "," + params.getSize())
+                .append('|')
+                .append(params.getSortField())
+                .append(',')
+                .append(params.getSortDirection())
+                .append(',')
+                .append(params.getSort())
+                .append('|')
+                .append(params.getFields())
+                .append('|')
+                .append(params.isKeyset())
+                .append(',')
+                .append(params.getCursor())
+                .append(',')
+                .append(params.getCountMode());
+        return key.toString();
+    }
+
+    private static void appendFilters(StringBuilder key, List<FilterCriteria> filters) {
+        key.append('[');
+        for (FilterCriteria filter : filters) {
+            if (filter.isCompound()) {
+                key.append(filter.getLogicalOperator());
+                appendFilters(key, filter.getChildren());
+            } else {
+                Object value = filter.getValue();
+                key.append(filter.getField()).append(' ').append(filter.getOperator()).append(' ');
+                if (value != null) {
+                    key.append(value.getClass().getSimpleName()).append(':');
+                }
+                key.append(value instanceof Object[] array ? Arrays.deepToString(array) : value);
+            }
+            key.append(';');
+        }
+        key.append(']');
+    }
+
+    private record Key(String scope, String query) {}
+
+    private record Entry(Object value, long loadedAt) {}
+}
@@ -0,0 +1,39 @@
+package io.preboot.query;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Result caches of all aggregates annotated with {@link CachedQueries}, one per aggregate type. Writes that bypass the
+ * filterable repositories (or happen in another application instance) are not seen by the caches; such code can call
+ * {@link #invalidate(Class, String)} itself. The statistics can be bound to any metrics registry by the application.
+ */
+@Component
+public class QueryResultCacheRegistry {
+    private final Map<Class<?>, QueryResultCache> caches = new ConcurrentHashMap<>();
+
+    QueryResultCache forEntity(Class<?> entityType, CachedQueries settings) {
+        return caches.computeIfAbsent(
+                entityType, type -> new QueryResultCache(settings.maxSize(), settings.ttlSeconds()));
+    }
+
+    /**
+     * Drops cached results of the aggregate loaded for the given tenant scope, and those loaded without one. A
+     * {@code null} scope drops all results of the aggregate.
+     */
+    public void invalidate(Class<?> entityType, String scope) {
+        QueryResultCache cache = caches.get(entityType);
+        if (cache != null) {
+            cache.invalidate(scope);
+        }
+    }
+
+    /** Cache statistics by aggregate class name. */
+    public Map<String, QueryResultCache.Stats> getStats() {
+        Map<String, QueryResultCache.Stats> stats = new TreeMap<>();
+        caches.forEach((type, cache) -> stats.put(type.getName(), cache.getStats()));
+        return stats;
+    }
+}
@@ -0,0 +1,157 @@
+package io.preboot.query;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes the searches of the filterable repositories ({@code findAll}, {@code findAllFields}, projections,
+ * {@code count}, {@code exists}, {@code aggregate} and streams without a fetch size) to a read replica, registered as
+ * a {@link DataSource} bean named {@value #REPLICA_DATA_SOURCE}. Declaring a second data source turns off Spring Boot's
+ * data source auto-configuration, so the application then declares the primary one (marked {@code @Primary}) as well.
+ *
+ * <p>Searches stay on the primary when the caller is in a transaction, within
+ * {@code preboot.query.replica.read-your-writes} milliseconds after a write through a filterable repository in the
+ * same tenant scope (0, the default, disables the window), and while the replica lags more than
+ * {@code preboot.query.replica.max-lag} milliseconds (0, the default, skips the check). The lag is checked at most
+ * every {@code preboot.query.replica.lag-check-interval} milliseconds; a failing check also falls back to the primary.
+ */
+@Component
+@Slf4j
+public class ReadReplicaRouter {
+    public static final String REPLICA_DATA_SOURCE = "prebootQueryReplicaDataSource";
+
+    // Replay lag; 0 when the replica has replayed everything it received, so an idle primary does not look like lag
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS bigint), 0)"
+            + " END";
+    private static final int MAX_TRACKED_SCOPES = 10_000;
+
+    private final NamedParameterJdbcTemplate template;
+    private final TransactionTemplate transaction;
+    private final long readYourWritesNanos;
+    private final long maxLagMillis;
+    private final long lagCheckIntervalNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicLong lagCheckedAt;
+    // Until the first check completes searches stay on the primary
+    private volatile boolean lagging = true;
+
+    @Autowired
+    ReadReplicaRouter(
+            @Qualifier(REPLICA_DATA_SOURCE) ObjectProvider<DataSource> replicaDataSource,
+            @Value("${preboot.query.replica.read-your-writes:0}") long readYourWritesMillis,
+            @Value("${preboot.query.replica.max-lag:0}") long maxLagMillis,
+            @Value("${preboot.query.replica.lag-check-interval:1000}") long lagCheckIntervalMillis) {
+        this(replicaDataSource.getIfAvailable(), readYourWritesMillis, maxLagMillis, lagCheckIntervalMillis);
+    }
+
+    ReadReplicaRouter(
+            DataSource replicaDataSource, long readYourWritesMillis, long maxLagMillis, long lagCheckIntervalMillis) {
+        this.template = replicaDataSource != null ? new NamedParameterJdbcTemplate(replicaDataSource) : null;
+        if (replicaDataSource != null) {
+            this.transaction = new TransactionTemplate(new DataSourceTransactionManager(replicaDataSource));
+            this.transaction.setReadOnly(true);
+        } else {
+            this.transaction = null;
+        }
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+        this.maxLagMillis = maxLagMillis;
+        this.lagCheckIntervalNanos = TimeUnit.MILLISECONDS.toNanos(lagCheckIntervalMillis);
+        this.lagCheckedAt = new AtomicLong(System.nanoTime() - lagCheckIntervalNanos);
+    }
+
+    public boolean isConfigured() {
+        return template != null;
+    }
+
+    /** Replica template for a search in the given tenant scope, or {@code null} if it has to run on the primary. */
+    NamedParameterJdbcTemplate route(String scope) {
+        if (template == null
+                || TransactionSynchronizationManager.isActualTransactionActive()
+                || isWithinReadYourWrites(scope)
+                || isLagging()) {
+            return null;
+        }
+        return template;
+    }
+
+    /** Read-only transaction on the replica, scoping the statement timeout of routed searches. */
+    TransactionTemplate getTransaction() {
+        return transaction;
+    }
+
+    /** Starts the read-your-writes window of the scope, again when the current transaction completes. */
+    void recordWrite(Supplier<String> scope) {
+        if (template == null || readYourWritesNanos <= 0) {
+            return;
+        }
+        String key = Objects.toString(scope.get(), "");
+        lastWrites.put(key, System.nanoTime());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lastWrites.put(key, System.nanoTime());
+                }
+            });
+        }
+        if (lastWrites.size() > MAX_TRACKED_SCOPES) {
+            long now = System.nanoTime();
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > readYourWritesNanos);
+        }
+    }
+
+    private boolean isWithinReadYourWrites(String scope) {
+        if (readYourWritesNanos <= 0) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(Objects.toString(scope, ""));
+        return writtenAt != null && System.nanoTime() - writtenAt < readYourWritesNanos;
+    }
+
+    private boolean isLagging() {
+        if (maxLagMillis <= 0) {
+            return false;
+        }
+        long checkedAt = lagCheckedAt.get();
+        long now = System.nanoTime();
+        // One caller refreshes the lag, the others use the last result meanwhile
+        if (now - checkedAt >= lagCheckIntervalNanos && lagCheckedAt.compareAndSet(checkedAt, now)) {
+            lagging = checkLagging();
+        }
+        return lagging;
+    }
+
+    private boolean checkLagging() {
+        try {
+            Long lag = template.queryForObject(LAG_SQL, new MapSqlParameterSource(), Long.class);
+            if (lag != null && lag > maxLagMillis) {
+                log.warn("Read replica lags {} ms behind, routing searches to the primary", lag);
+                return true;
+            }
+            return false;
+        } catch (DataAccessException e) {
+            log.warn("Read replica lag check failed, routing searches to the primary", e);
+            return true;
+        }
+    }
+}
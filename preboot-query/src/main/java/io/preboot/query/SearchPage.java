@@ -0,0 +1,32 @@
+package io.preboot.query;
+
+import java.util.List;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page whose next-page flag is detected by reading one row past the page end rather than derived from the total, so it
+ * stays exact when the total is estimated or not counted at all (see {@link CountMode}).
+ *
+ * @param <T> Element type
+ */
+public class SearchPage<T> extends PageImpl<T> {
+    private final CountMode countMode;
+    private final boolean hasNext;
+
+    public SearchPage(List<T> content, Pageable pageable, long total, CountMode countMode, boolean hasNext) {
+        super(content, pageable, total);
+        this.countMode = countMode;
+        this.hasNext = hasNext;
+    }
+
+    /** @return how {@link #getTotalElements()} was computed */
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+}
@@ -1,5 +1,6 @@
 package io.preboot.query;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -9,7 +10,7 @@ import lombok.experimental.Accessors;
 import org.springframework.data.domain.Sort;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Accessors(chain = true)
 public class SearchParams {
     public static final int DEFAULT_PAGE = 0;
@@ -31,9 +32,48 @@ public class SearchParams {
     @Builder.Default
     private Sort.Direction sortDirection = DEFAULT_DIRECTION;
 
+    /**
+     * Sort columns applied in order. When not empty it replaces {@link #sortField} and {@link #sortDirection}. Sorted
+     * searches always end with the id as a tiebreak, so pages are deterministic.
+     */
+    private List<SortOrder> sort;
+
+    /**
+     * Properties returned by {@code findAllFields}, direct or on an aggregate reference ({@code alias.property}). Only
+     * these columns and the id are selected, so wide TEXT/JSONB columns are never read for list views.
+     */
+    private List<String> fields;
+
     @Builder.Default
     private boolean unpaged = false;
 
+    /**
+     * Enables keyset (seek) pagination: rows are ordered by the sort field with the id as a tiebreak and each page
+     * continues after the previous one instead of using OFFSET. Results are returned as {@link KeysetPage}.
+     */
+    @Builder.Default
+    private boolean keyset = false;
+
+    /** Continuation token from {@link KeysetPage#getNextCursor()}; implies keyset pagination when set. */
+    private String cursor;
+
+    /** How the page total is computed; anything but {@link CountMode#EXACT} returns a {@link SearchPage}. */
+    @Builder.Default
+    private CountMode countMode = CountMode.EXACT;
+
+    /**
+     * Rows fetched per round trip by the stream methods. A positive value streams through a server-side cursor and
+     * requires a read-only transaction; {@code null} falls back to {@code preboot.query.stream-fetch-size}.
+     */
+    private Integer fetchSize;
+
+    /**
+     * Statement timeout of this search, replacing the {@link SearchTimeout} of the aggregate and
+     * {@code preboot.query.search-timeout}. Exceeding it throws a
+     * {@link io.preboot.query.exception.SearchTimeoutException}. Not applied to the stream methods.
+     */
+    private Duration timeout;
+
     public static SearchParams empty() {
         return SearchParams.builder().filters(new ArrayList<>()).build();
     }
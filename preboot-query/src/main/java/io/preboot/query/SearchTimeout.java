@@ -0,0 +1,18 @@
+package io.preboot.query;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Statement timeout of the searches on an aggregate ({@code findAll}, {@code findAllFields},
+ * {@code findAllProjectedBy}, {@code count}, {@code exists} and {@code aggregate} with {@link SearchParams}), replacing
+ * {@code preboot.query.search-timeout}. {@link SearchParams#getTimeout()} overrides it for a single search.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchTimeout {
+    /** Timeout in milliseconds; 0 disables the timeout. */
+    long millis();
+}
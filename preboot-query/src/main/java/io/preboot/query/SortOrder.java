@@ -0,0 +1,42 @@
+package io.preboot.query;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * One column of a multi-column sort. The field may be a direct entity property or a property of an aggregate
+ * reference ({@code alias.property}); a {@code null} direction means ascending and a {@code null} null handling keeps
+ * the database default (nulls last for ascending, first for descending).
+ */
+public record SortOrder(String field, Sort.Direction direction, Sort.NullHandling nullHandling) {
+    /**
+     * Pseudo field ordering by the rank of the first {@code fts} ({@code ts_rank}) or {@code similar}
+     * ({@code similarity}) filter on a root or reference column.
+     */
+    public static final String RELEVANCE = "_relevance";
+
+    public static SortOrder asc(String field) {
+        return new SortOrder(field, Sort.Direction.ASC, null);
+    }
+
+    public static SortOrder desc(String field) {
+        return new SortOrder(field, Sort.Direction.DESC, null);
+    }
+
+    /** Best matches first. */
+    public static SortOrder relevance() {
+        return new SortOrder(RELEVANCE, Sort.Direction.DESC, null);
+    }
+
+    public SortOrder nullsFirst() {
+        return new SortOrder(field, direction, Sort.NullHandling.NULLS_FIRST);
+    }
+
+    public SortOrder nullsLast() {
+        return new SortOrder(field, direction, Sort.NullHandling.NULLS_LAST);
+    }
+
+    Sort.Order toOrder() {
+        Sort.Order order = new Sort.Order(direction != null ? direction : SearchParams.DEFAULT_DIRECTION, field);
+        return nullHandling != null ? order.with(nullHandling) : order;
+    }
+}
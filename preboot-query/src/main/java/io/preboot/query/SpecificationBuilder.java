@@ -2,7 +2,10 @@ package io.preboot.query;
 
 import io.preboot.query.exception.InvalidFilterCriteriaException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -15,6 +18,9 @@ public class SpecificationBuilder {
         NOT_EQUALS("neq", "!="),
         EQUALS_IGNORE_CASE("eqic", "eqic"),
         LIKE("like", "ILIKE"),
+        PREFIX("prefix", "LIKE"),
+        FULL_TEXT("fts", "@@"),
+        SIMILAR("similar", "%"),
         GREATER_THAN("gt", ">"),
         LESS_THAN("lt", "<"),
         GREATER_THAN_EQUALS("gte", ">="),
@@ -33,13 +39,16 @@ public class SpecificationBuilder {
             this.sqlOperator = sqlOperator;
         }
 
+        private static final Map<String, Operator> BY_API_OPERATOR =
+                Arrays.stream(values()).collect(Collectors.toUnmodifiableMap(op -> op.apiOperator, op -> op));
+
         public static Operator fromApiOperator(String apiOperator) {
-            for (Operator op : values()) {
-                if (op.apiOperator.equals(apiOperator)) {
-                    return op;
-                }
+            Operator op = apiOperator != null ? BY_API_OPERATOR.get(apiOperator) : null;
+            if (op == null) {
+                throw new InvalidFilterCriteriaException(
+                        "unknown", apiOperator, "Unsupported operator: " + apiOperator);
             }
-            throw new InvalidFilterCriteriaException("unknown", apiOperator, "Unsupported operator: " + apiOperator);
+            return op;
         }
 
         public String getSqlOperator() {
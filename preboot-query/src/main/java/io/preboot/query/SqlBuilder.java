@@ -3,20 +3,29 @@ package io.preboot.query;
 import io.preboot.query.exception.InvalidFilterCriteriaException;
 import io.preboot.query.exception.PropertyNotFoundException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.relational.core.mapping.RelationalMappingContext;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
 import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
@@ -24,44 +33,616 @@ import org.springframework.util.Assert;
 @RequiredArgsConstructor
 @Slf4j
 public class SqlBuilder {
+    static final String LIMIT_PARAM = "page_limit";
+    static final String OFFSET_PARAM = "page_offset";
+    static final String INLINE_COLLECTION_SUFFIX = "__json";
+    static final String AGGREGATION_LIMIT_PARAM = "aggregation_limit";
+    static final String GROUP_COLUMN_PREFIX = "group_";
+    static final String METRIC_COLUMN_PREFIX = "metric_";
+
     private final PropertyResolver propertyResolver;
     private final JoinResolver joinResolver;
     private final RelationalMappingContext mappingContext;
 
+    @Value("${preboot.query.sql-cache-size:1000}")
+    private int sqlCacheSize = 1000;
+
+    /** Text search configuration of {@code fts} filters; GIN indexes must use the same one to be picked. */
+    @Value("${preboot.query.text-search-config:simple}")
+    private String textSearchConfig = "simple";
+
+    /** Minimum pg_trgm similarity of {@code similar} filters, on top of {@code pg_trgm.similarity_threshold}. */
+    @Value("${preboot.query.similarity-threshold:0.3}")
+    private double similarityThreshold = 0.3;
+
+    /**
+     * Compiled statements, bounded by {@code preboot.query.sql-cache-size}. Lookups take no lock; on overflow the least
+     * recently used tenth is dropped at once.
+     */
+    private final Map<SqlTemplateKey, CachedSqlTemplate> sqlCache = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evictingSql = new AtomicBoolean();
+
+    private final Map<Class<?>, FilterSchema> filterSchemas = new ConcurrentHashMap<>();
+
     public String buildSelectSql(RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec, Pageable pageable) {
         Assert.notNull(entity, "Entity must not be null");
         Assert.notNull(spec, "Specification must not be null");
 
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT DISTINCT \"base\".* FROM \"")
-                .append(entity.getTableName().getReference())
-                .append("\" \"base\"");
+        return toSql(new SqlTemplateKey("select", entity, null, spec, pageable), entity, spec, pageable, () -> {
+            Map<String, JoinInfo> joins =
+                    joinResolver.analyzeJoins(entity, spec.getFilterCriteria(), sortOf(pageable));
 
-        Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, spec.getFilterCriteria());
-        appendJoins(sql, entity, joins);
-        appendWhere(sql, entity, spec, joins);
-        appendOrderBy(sql, entity, pageable, joins);
-        appendPagination(sql, pageable);
+            StringBuilder sql = new StringBuilder();
+            sql.append(selectDistinct(joins))
+                    .append("\"base\".* FROM \"")
+                    .append(entity.getTableName().getReference())
+                    .append("\" \"base\"");
 
-        log.debug("Generated SQL: {}", sql);
+            appendJoins(sql, entity, joins);
+            appendWhere(sql, entity, spec, joins);
+            appendOrderBy(sql, entity, spec, pageable);
+            appendPagination(sql, spec, pageable);
 
-        return sql.toString();
+            return new SqlTemplate(sql.toString(), joins);
+        });
+    }
+
+    /**
+     * Selects only the given fields, each under its own name, instead of {@code "base".*}. The id and every sort
+     * property are selected as well, so rows stay addressable and keyset pages can read their cursor.
+     */
+    public String buildFieldsSql(
+            RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec, List<String> fields, Pageable pageable) {
+        Assert.notNull(entity, "Entity must not be null");
+        Assert.notNull(spec, "Specification must not be null");
+        Assert.notEmpty(fields, "Fields must not be empty");
+
+        Set<String> selected = new LinkedHashSet<>(fields);
+        selected.add(entity.getRequiredIdProperty().getName());
+        sortOf(pageable).forEach(order -> selected.add(order.getProperty()));
+
+        SqlTemplateKey key = new SqlTemplateKey("fields " + String.join(",", selected), entity, null, spec, pageable);
+        return toSql(key, entity, spec, pageable, () -> {
+            List<FilterCriteria> joinCriteria = new ArrayList<>(spec.getFilterCriteria());
+            fields.forEach(field -> joinCriteria.add(FilterCriteria.builder().field(field).build()));
+            Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, joinCriteria, sortOf(pageable));
+
+            List<String> columns = new ArrayList<>();
+            for (String field : selected) {
+                String column = fields.contains(field)
+                        ? propertyColumn(entity, field, "fields")
+                        : buildOrderByColumnReference(entity, spec, field);
+                columns.add(column + " AS \"" + field + "\"");
+            }
+
+            StringBuilder sql = new StringBuilder("SELECT ")
+                    .append(String.join(", ", columns))
+                    .append(" FROM \"")
+                    .append(entity.getTableName().getReference())
+                    .append("\" \"base\"");
+
+            appendJoins(sql, entity, joins);
+            appendWhere(sql, entity, spec, joins);
+            appendOrderBy(sql, entity, spec, pageable);
+            appendPagination(sql, spec, pageable);
+
+            return new SqlTemplate(sql.toString(), joins);
+        });
     }
 
     public String buildCountSql(RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec) {
         Assert.notNull(entity, "Entity must not be null");
         Assert.notNull(spec, "Specification must not be null");
 
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT COUNT(DISTINCT \"base\".\"id\") FROM \"")
+        return toSql(new SqlTemplateKey("count", entity, null, spec, null), entity, spec, null, () -> {
+            Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, spec.getFilterCriteria());
+
+            String counted = needsDistinct(joins)
+                    ? "DISTINCT \"base\".\"" + entity.getIdColumn().getReference() + "\""
+                    : "*";
+
+            StringBuilder sql = new StringBuilder();
+            sql.append("SELECT COUNT(")
+                    .append(counted)
+                    .append(") FROM \"")
+                    .append(entity.getTableName().getReference())
+                    .append("\" \"base\"");
+
+            appendJoins(sql, entity, joins);
+            appendWhere(sql, entity, spec, joins);
+
+            return new SqlTemplate(sql.toString(), joins);
+        });
+    }
+
+    /** Builds a {@code SELECT EXISTS} query, which stops at the first matching row and never needs DISTINCT. */
+    public String buildExistsSql(RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec) {
+        Assert.notNull(entity, "Entity must not be null");
+        Assert.notNull(spec, "Specification must not be null");
+
+        return toSql(new SqlTemplateKey("exists", entity, null, spec, null), entity, spec, null, () -> {
+            Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, spec.getFilterCriteria());
+
+            StringBuilder sql = new StringBuilder();
+            sql.append("SELECT EXISTS (SELECT 1 FROM \"")
+                    .append(entity.getTableName().getReference())
+                    .append("\" \"base\"");
+
+            appendJoins(sql, entity, joins);
+            appendWhere(sql, entity, spec, joins);
+            sql.append(")");
+
+            return new SqlTemplate(sql.toString(), joins);
+        });
+    }
+
+    /**
+     * Builds a set-based UPDATE of the rows matching the specification. Every column is assigned from the parameter
+     * named by {@link #setParameterName(String)}.
+     */
+    public String buildUpdateSql(
+            RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec, List<String> columns) {
+        Assert.notNull(entity, "Entity must not be null");
+        Assert.notNull(spec, "Specification must not be null");
+        Assert.notEmpty(columns, "Columns must not be empty");
+
+        SqlTemplateKey key = new SqlTemplateKey("update " + String.join(",", columns), entity, null, spec, null);
+        return toSql(key, entity, spec, null, () -> {
+            Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, spec.getFilterCriteria());
+
+            StringBuilder sql = new StringBuilder("UPDATE \"")
+                    .append(entity.getTableName().getReference())
+                    .append("\" \"base\" SET ")
+                    .append(columns.stream()
+                            .map(column -> "\"" + column + "\" = :" + setParameterName(column))
+                            .collect(Collectors.joining(", ")));
+            appendMatchingRows(sql, entity, spec, joins, "FROM");
+
+            return new SqlTemplate(sql.toString(), joins);
+        });
+    }
+
+    /**
+     * Builds a set-based DELETE of the aggregates matching the specification. Rows of owned child entities (mapped
+     * collections and one-to-one children, at any depth) are deleted by data-modifying CTEs of the same statement, so
+     * they are matched before any of them is gone and the foreign keys are satisfied at the end of the statement.
+     */
+    public String buildDeleteSql(RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec) {
+        Assert.notNull(entity, "Entity must not be null");
+        Assert.notNull(spec, "Specification must not be null");
+
+        return toSql(new SqlTemplateKey("delete", entity, null, spec, null), entity, spec, null, () -> {
+            Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, spec.getFilterCriteria());
+            String table = entity.getTableName().getReference();
+            String idColumn = entity.getIdColumn().getReference();
+
+            StringBuilder sql = new StringBuilder();
+            if (ownedChildren(entity).isEmpty()) {
+                sql.append("DELETE FROM \"").append(table).append("\" \"base\"");
+                appendMatchingRows(sql, entity, spec, joins, "USING");
+                return new SqlTemplate(sql.toString(), joins);
+            }
+
+            sql.append("WITH \"matched\" AS (SELECT \"base\".\"")
+                    .append(idColumn)
+                    .append("\" FROM \"")
+                    .append(table)
+                    .append("\" \"base\"");
+            appendJoins(sql, entity, joins);
+            appendWhere(sql, entity, spec, joins);
+            sql.append(")");
+            appendChildDeletes(sql, entity, entity, "SELECT \"" + idColumn + "\" FROM \"matched\"", "");
+            sql.append(" DELETE FROM \"")
+                    .append(table)
+                    .append("\" WHERE \"")
+                    .append(idColumn)
+                    .append("\" IN (SELECT \"")
+                    .append(idColumn)
+                    .append("\" FROM \"matched\")");
+
+            return new SqlTemplate(sql.toString(), joins);
+        });
+    }
+
+    /**
+     * Appends a DELETE CTE per child table of the parent, the deepest tables first. Children reference the closest
+     * ancestor with an id ({@code idOwner}), whose matched ids {@code idsSql} selects.
+     */
+    private void appendChildDeletes(
+            StringBuilder sql,
+            RelationalPersistentEntity<?> parent,
+            RelationalPersistentEntity<?> idOwner,
+            String idsSql,
+            String pathPrefix) {
+        for (RelationalPersistentProperty child : ownedChildren(parent)) {
+            RelationalPersistentEntity<?> childEntity =
+                    mappingContext.getRequiredPersistentEntity(child.getActualType());
+            String childTable = childEntity.getTableName().getReference();
+            String reverseColumn = child.getReverseColumnName(idOwner).getReference();
+            String path = pathPrefix + child.getName();
+
+            if (!ownedChildren(childEntity).isEmpty()) {
+                if (childEntity.hasIdProperty()) {
+                    String childIdsSql = "SELECT \"" + childEntity.getIdColumn().getReference() + "\" FROM \""
+                            + childTable + "\" WHERE \"" + reverseColumn + "\" IN (" + idsSql + ")";
+                    appendChildDeletes(sql, childEntity, childEntity, childIdsSql, path + "_");
+                } else {
+                    // Without an id of its own the child passes the ancestor id on to its children
+                    appendChildDeletes(sql, childEntity, idOwner, idsSql, path + "_");
+                }
+            }
+
+            sql.append(", \"")
+                    .append(path)
+                    .append("_deleted\" AS (DELETE FROM \"")
+                    .append(childTable)
+                    .append("\" WHERE \"")
+                    .append(reverseColumn)
+                    .append("\" IN (")
+                    .append(idsSql)
+                    .append("))");
+        }
+    }
+
+    private static List<RelationalPersistentProperty> ownedChildren(RelationalPersistentEntity<?> entity) {
+        List<RelationalPersistentProperty> children = new ArrayList<>();
+        entity.forEach(property -> {
+            if (property.isEntity() && !property.isEmbedded()) {
+                children.add(property);
+            }
+        });
+        return children;
+    }
+
+    static String setParameterName(String column) {
+        return "set_" + column;
+    }
+
+    /**
+     * Restricts an UPDATE or DELETE of the base table to the matching rows. Reference joins cannot be attached to the
+     * target table itself, so with joins the matching ids come from a subquery in {@code FROM}/{@code USING}.
+     */
+    private void appendMatchingRows(
+            StringBuilder sql,
+            RelationalPersistentEntity<?> entity,
+            JdbcSpecification<?> spec,
+            Map<String, JoinInfo> joins,
+            String fromKeyword) {
+        if (joins.isEmpty()) {
+            appendWhere(sql, entity, spec, joins);
+            return;
+        }
+
+        String idColumn = entity.getIdColumn().getReference();
+        sql.append(' ')
+                .append(fromKeyword)
+                .append(" (SELECT \"base\".\"")
+                .append(idColumn)
+                .append("\" FROM \"")
                 .append(entity.getTableName().getReference())
                 .append("\" \"base\"");
-
-        Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, spec.getFilterCriteria());
         appendJoins(sql, entity, joins);
         appendWhere(sql, entity, spec, joins);
+        sql.append(") \"matched\" WHERE \"base\".\"")
+                .append(idColumn)
+                .append("\" = \"matched\".\"")
+                .append(idColumn)
+                .append("\"");
+    }
 
-        return sql.toString();
+    /**
+     * Builds a GROUP BY query over the rows matching the specification. Group keys are returned as {@code group_<n>}
+     * and metrics as {@code metric_<n>}, in the order of the aggregation spec.
+     */
+    public String buildAggregationSql(
+            RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec, AggregationSpec aggregation) {
+        Assert.notNull(entity, "Entity must not be null");
+        Assert.notNull(spec, "Specification must not be null");
+        Assert.notNull(aggregation, "Aggregation must not be null");
+
+        List<AggregationSpec.GroupBy> groups = aggregation.groupBy();
+        List<AggregationSpec.Metric> metrics = aggregation.metrics();
+        for (AggregationSpec.GroupBy group : groups) {
+            if (group.histogramInterval() != null && group.histogramInterval().signum() <= 0) {
+                throw new InvalidFilterCriteriaException(
+                        group.field(), "histogram", "Histogram interval must be positive");
+            }
+        }
+        if (aggregation.limit() != null && aggregation.limit() <= 0) {
+            throw new InvalidFilterCriteriaException(null, "limit", "Limit must be positive");
+        }
+        SqlTemplateKey key = new SqlTemplateKey(aggregationShape(aggregation), entity, null, spec, null);
+        String sql = toSql(key, entity, spec, null, () -> {
+            // Group and metric fields on references need the same joins as filters on them
+            List<FilterCriteria> joinCriteria = new ArrayList<>(spec.getFilterCriteria());
+            groups.forEach(group -> joinCriteria.add(FilterCriteria.builder().field(group.field()).build()));
+            metrics.stream()
+                    .filter(metric -> metric.field() != null)
+                    .forEach(metric -> joinCriteria.add(FilterCriteria.builder().field(metric.field()).build()));
+            Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, joinCriteria);
+
+            List<String> selected = new ArrayList<>();
+            for (int i = 0; i < groups.size(); i++) {
+                selected.add(groupExpression(entity, groups.get(i), i) + " AS \"" + GROUP_COLUMN_PREFIX + i + "\"");
+            }
+            for (int i = 0; i < metrics.size(); i++) {
+                selected.add(metricExpression(entity, metrics.get(i)) + " AS \"" + METRIC_COLUMN_PREFIX + i + "\"");
+            }
+
+            StringBuilder sql = new StringBuilder("SELECT ")
+                    .append(String.join(", ", selected))
+                    .append(" FROM \"")
+                    .append(entity.getTableName().getReference())
+                    .append("\" \"base\"");
+            appendJoins(sql, entity, joins);
+            appendWhere(sql, entity, spec, joins);
+
+            if (!groups.isEmpty()) {
+                // Ordinals, as histogram expressions bind their interval once per occurrence
+                sql.append(" GROUP BY ")
+                        .append(Stream.iterate(1, i -> i + 1)
+                                .limit(groups.size())
+                                .map(String::valueOf)
+                                .collect(Collectors.joining(", ")));
+            }
+            appendAggregationOrder(sql, aggregation);
+            if (aggregation.limit() != null) {
+                sql.append(" LIMIT :").append(AGGREGATION_LIMIT_PARAM);
+            }
+
+            return new SqlTemplate(sql.toString(), joins);
+        });
+
+        MapSqlParameterSource paramSource = (MapSqlParameterSource) spec.getParameterSource();
+        for (int i = 0; i < groups.size(); i++) {
+            if (groups.get(i).histogramInterval() != null) {
+                paramSource.addValue(histogramParameterName(i), groups.get(i).histogramInterval());
+            }
+        }
+        if (aggregation.limit() != null) {
+            paramSource.addValue(AGGREGATION_LIMIT_PARAM, aggregation.limit());
+        }
+        return sql;
+    }
+
+    // Histogram intervals and the limit are bound as parameters, so only their presence is part of the shape
+    private static String aggregationShape(AggregationSpec aggregation) {
+        StringBuilder shape = new StringBuilder("aggregate ");
+        for (AggregationSpec.GroupBy group : aggregation.groupBy()) {
+            shape.append(group.field())
+                    .append(':')
+                    .append(group.dateBucket())
+                    .append(':')
+                    .append(group.histogramInterval() != null)
+                    .append(',');
+        }
+        shape.append('|');
+        for (AggregationSpec.Metric metric : aggregation.metrics()) {
+            shape.append(metric.function()).append(':').append(metric.field()).append(',');
+        }
+        return shape.append('|')
+                .append(aggregation.orderBy())
+                .append(':')
+                .append(aggregation.orderDirection())
+                .append('|')
+                .append(aggregation.limit() != null)
+                .toString();
+    }
+
+    private String groupExpression(RelationalPersistentEntity<?> entity, AggregationSpec.GroupBy group, int index) {
+        String column = aggregationColumn(entity, group.field(), "group");
+        if (group.dateBucket() != null) {
+            return "date_trunc('" + group.dateBucket().name().toLowerCase() + "', " + column + ")";
+        }
+        if (group.histogramInterval() != null) {
+            String interval = ":" + histogramParameterName(index);
+            return "FLOOR(" + column + " / " + interval + ") * " + interval;
+        }
+        return column;
+    }
+
+    private String metricExpression(RelationalPersistentEntity<?> entity, AggregationSpec.Metric metric) {
+        if (metric.function() == null) {
+            throw new InvalidFilterCriteriaException(metric.field(), "metric", "Aggregate function is required");
+        }
+        if (metric.field() == null) {
+            if (metric.function() != AggregationSpec.Function.COUNT) {
+                throw new InvalidFilterCriteriaException(null, metric.function().name(), "A field is required");
+            }
+            return "COUNT(*)";
+        }
+
+        String column = aggregationColumn(entity, metric.field(), metric.function().name());
+        return switch (metric.function()) {
+            case COUNT_DISTINCT -> "COUNT(DISTINCT " + column + ")";
+            default -> metric.function().name() + "(" + column + ")";
+        };
+    }
+
+    private String aggregationColumn(RelationalPersistentEntity<?> entity, String field, String operation) {
+        if (field == null || field.isBlank()) {
+            throw new InvalidFilterCriteriaException(field, operation, "A field is required");
+        }
+        return propertyColumn(entity, field, operation);
+    }
+
+    /**
+     * Column of a direct property or of an aggregate reference property ({@code alias.property}), joined under the
+     * reference alias by {@link JoinResolver}. Collections are filtered through EXISTS and have no joined row to use.
+     */
+    private String propertyColumn(RelationalPersistentEntity<?> entity, String field, String operation) {
+        if (!propertyResolver.isNestedProperty(field)) {
+            RelationalPersistentProperty property = entity.getPersistentProperty(field);
+            if (property == null) {
+                throw new PropertyNotFoundException(field);
+            }
+            if (property.isEntity()) {
+                throw new InvalidFilterCriteriaException(field, operation, "Only column properties are supported");
+            }
+            return buildColumnReference("base", property);
+        }
+
+        String[] parts = field.split("\\.");
+        RelationalPersistentProperty property = entity.getPersistentProperty(parts[0]);
+        if (property == null) {
+            property = propertyResolver.findPropertyByReferenceAlias(entity, parts[0]);
+        }
+        AggregateReference reference = property != null ? property.findAnnotation(AggregateReference.class) : null;
+        if (reference == null || parts.length != 2) {
+            throw new InvalidFilterCriteriaException(
+                    field, operation, "Only root and aggregate reference properties are supported");
+        }
+        RelationalPersistentProperty targetProperty =
+                mappingContext.getRequiredPersistentEntity(reference.target()).getPersistentProperty(parts[1]);
+        if (targetProperty == null) {
+            throw new PropertyNotFoundException(field);
+        }
+        return buildColumnReference(reference.alias(), targetProperty);
+    }
+
+    private static void appendAggregationOrder(StringBuilder sql, AggregationSpec aggregation) {
+        List<AggregationSpec.GroupBy> groups = aggregation.groupBy();
+        List<AggregationSpec.Metric> metrics = aggregation.metrics();
+        Sort.Direction direction =
+                aggregation.orderDirection() != null ? aggregation.orderDirection() : Sort.Direction.ASC;
+
+        List<String> orderColumns = new ArrayList<>();
+        if (aggregation.orderBy() == null) {
+            for (int i = 0; i < groups.size(); i++) {
+                orderColumns.add(GROUP_COLUMN_PREFIX + i);
+            }
+        } else {
+            for (int i = 0; i < groups.size() && orderColumns.isEmpty(); i++) {
+                if (groups.get(i).field().equals(aggregation.orderBy())) {
+                    orderColumns.add(GROUP_COLUMN_PREFIX + i);
+                }
+            }
+            for (int i = 0; i < metrics.size() && orderColumns.isEmpty(); i++) {
+                if (metrics.get(i).name().equals(aggregation.orderBy())) {
+                    orderColumns.add(METRIC_COLUMN_PREFIX + i);
+                }
+            }
+            if (orderColumns.isEmpty()) {
+                throw new InvalidFilterCriteriaException(
+                        aggregation.orderBy(), "order", "Neither a group field nor a metric name");
+            }
+        }
+
+        if (!orderColumns.isEmpty()) {
+            sql.append(" ORDER BY ")
+                    .append(orderColumns.stream()
+                            .map(column -> "\"" + column + "\" " + direction.name())
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static String histogramParameterName(int index) {
+        return "histogram_" + index;
+    }
+
+    /**
+     * Builds an {@code EXPLAIN (FORMAT JSON)} statement for the ids matching the specification. The "Plan
+     * Rows" of its top node is the planner's estimate of the search total.
+     */
+    public String buildCountEstimateSql(RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec) {
+        Assert.notNull(entity, "Entity must not be null");
+        Assert.notNull(spec, "Specification must not be null");
+
+        return toSql(new SqlTemplateKey("estimate", entity, null, spec, null), entity, spec, null, () -> {
+            Map<String, JoinInfo> joins = joinResolver.analyzeJoins(entity, spec.getFilterCriteria());
+
+            StringBuilder sql = new StringBuilder();
+            sql.append("EXPLAIN (FORMAT JSON) ")
+                    .append(selectDistinct(joins))
+                    .append("\"base\".\"")
+                    .append(entity.getIdColumn().getReference())
+                    .append("\" FROM \"")
+                    .append(entity.getTableName().getReference())
+                    .append("\" \"base\"");
+
+            appendJoins(sql, entity, joins);
+            appendWhere(sql, entity, spec, joins);
+
+            return new SqlTemplate(sql.toString(), joins);
+        });
+    }
+
+    /**
+     * Builds a query returning the table row count last recorded by ANALYZE or VACUUM, or -1 when the table has no
+     * statistics yet. Expects the quoted table name as {@code :tableName}.
+     */
+    public String buildTableEstimateSql() {
+        return "SELECT COALESCE((SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(:tableName)), -1)";
+    }
+
+    /**
+     * Returns the SQL compiled for the query shape, compiling and caching it on first use, then binds the parameter
+     * values of this particular specification. Values never end up in the SQL text, so the same shape always yields
+     * the same statement string.
+     */
+    private String toSql(
+            SqlTemplateKey key,
+            RelationalPersistentEntity<?> entity,
+            JdbcSpecification<?> spec,
+            Pageable pageable,
+            Supplier<SqlTemplate> compiler) {
+        CachedSqlTemplate cached = sqlCache.get(key);
+        if (cached == null) {
+            SqlTemplate compiled = compiler.get();
+            log.debug("Generated SQL: {}", compiled.sql());
+            CachedSqlTemplate created = new CachedSqlTemplate(compiled);
+            cached = sqlCache.putIfAbsent(key, created);
+            if (cached == null) {
+                cached = created;
+                evictSqlTemplates();
+            }
+        }
+        cached.lastUsed = System.nanoTime();
+
+        SqlTemplate template = cached.template;
+        bindParameters(entity, spec, pageable, template.joins());
+        return template.sql();
+    }
+
+    // Drops at least a tenth of the cache, so the sort by last use is paid once per many compilations
+    private void evictSqlTemplates() {
+        int overflow = sqlCache.size() - sqlCacheSize;
+        if (overflow <= 0 || !evictingSql.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Snapshot of the last uses, which keep changing while sorting
+            List<Map.Entry<SqlTemplateKey, Long>> lastUses = new ArrayList<>(sqlCache.size());
+            sqlCache.forEach((key, cached) -> lastUses.add(Map.entry(key, cached.lastUsed)));
+            lastUses.sort(Map.Entry.comparingByValue());
+            int count = Math.min(Math.max(overflow, sqlCacheSize / 10), lastUses.size());
+            lastUses.subList(0, count).forEach(entry -> sqlCache.remove(entry.getKey()));
+        } finally {
+            evictingSql.set(false);
+        }
+    }
+
+    private void bindParameters(
+            RelationalPersistentEntity<?> entity,
+            JdbcSpecification<?> spec,
+            Pageable pageable,
+            Map<String, JoinInfo> joins) {
+        SqlContext context = createContext(entity, joins);
+        MapSqlParameterSource paramSource = (MapSqlParameterSource) spec.getParameterSource();
+
+        if (spec.hasCriteria() && spec.getExpression() != null) {
+            spec.getExpression().bindParameters(context, paramSource);
+        }
+        if (spec.getKeysetExpression() != null) {
+            spec.getKeysetExpression().bindParameters(context, paramSource);
+        }
+        if (pageable != null && pageable.isPaged()) {
+            paramSource.addValue(LIMIT_PARAM, spec.isLookahead() ? pageable.getPageSize() + 1 : pageable.getPageSize());
+            if (!spec.isKeyset()) {
+                paramSource.addValue(OFFSET_PARAM, pageable.getOffset());
+            }
+        }
     }
 
     private void appendWhere(
@@ -69,11 +650,32 @@ public class SqlBuilder {
             RelationalPersistentEntity<?> entity,
             JdbcSpecification<?> spec,
             Map<String, JoinInfo> joins) {
+        List<String> conditions = new ArrayList<>();
+        SqlContext context = createContext(entity, joins);
+
         if (spec.hasCriteria() && spec.getExpression() != null) {
-            SqlContext context = new SqlContext(entity, joins, propertyResolver, mappingContext, 0);
-            sql.append(" WHERE ").append(spec.getExpression().toSql(context));
-            spec.getExpression().addParameters(spec.getParameterSource());
+            conditions.add(spec.getExpression().toSql(context));
         }
+
+        if (spec.getKeysetExpression() != null) {
+            conditions.add(spec.getKeysetExpression().toSql(context));
+        }
+
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    /**
+     * To-one joins match at most one row per base row, so only collection joins can duplicate base rows and require
+     * DISTINCT, which Postgres implements as a sort or hash over the whole selected row.
+     */
+    private static boolean needsDistinct(Map<String, JoinInfo> joins) {
+        return joins.values().stream().anyMatch(JoinInfo::isToMany);
+    }
+
+    private static String selectDistinct(Map<String, JoinInfo> joins) {
+        return needsDistinct(joins) ? "SELECT DISTINCT " : "SELECT ";
     }
 
     private void appendJoins(StringBuilder sql, RelationalPersistentEntity<?> entity, Map<String, JoinInfo> joins) {
@@ -106,29 +708,25 @@ public class SqlBuilder {
                 // Check if this is a collection with aggregate reference
                 RelationalPersistentProperty collectionProperty = entity.getPersistentProperty(path);
                 if (collectionProperty != null && collectionProperty.isCollectionLike()) {
-                    RelationalPersistentEntity<?> collectionEntity =
-                            mappingContext.getRequiredPersistentEntity(collectionProperty.getActualType());
-
-                    for (RelationalPersistentProperty prop : collectionEntity) {
-                        AggregateReference ref = prop.findAnnotation(AggregateReference.class);
-                        if (ref != null) {
-                            // Add join for referenced table
-                            RelationalPersistentEntity<?> targetEntity =
-                                    mappingContext.getRequiredPersistentEntity(ref.target());
-                            sql.append(" LEFT JOIN \"")
-                                    .append(targetEntity.getTableName().getReference())
-                                    .append("\" \"")
-                                    .append(ref.alias())
-                                    .append("\" ON \"")
-                                    .append(joinInfo.alias())
-                                    .append("\".\"")
-                                    .append(ref.sourceColumn())
-                                    .append("\" = \"")
-                                    .append(ref.alias())
-                                    .append("\".\"")
-                                    .append(ref.targetColumn())
-                                    .append("\"");
-                        }
+                    RelationalPersistentEntity<?> collectionEntity = propertyResolver.getNestedEntity(entity, path);
+
+                    for (AggregateReference ref : propertyResolver.getAggregateReferences(collectionEntity)) {
+                        // Add join for referenced table
+                        RelationalPersistentEntity<?> targetEntity =
+                                mappingContext.getRequiredPersistentEntity(ref.target());
+                        sql.append(" LEFT JOIN \"")
+                                .append(targetEntity.getTableName().getReference())
+                                .append("\" \"")
+                                .append(ref.alias())
+                                .append("\" ON \"")
+                                .append(joinInfo.alias())
+                                .append("\".\"")
+                                .append(ref.sourceColumn())
+                                .append("\" = \"")
+                                .append(ref.alias())
+                                .append("\".\"")
+                                .append(ref.targetColumn())
+                                .append("\"");
                     }
                 }
             }
@@ -136,50 +734,75 @@ public class SqlBuilder {
     }
 
     private void appendOrderBy(
-            StringBuilder sql, RelationalPersistentEntity<?> entity, Pageable pageable, Map<String, JoinInfo> joins) {
+            StringBuilder sql, RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec, Pageable pageable) {
         if (pageable != null && pageable.getSort().isSorted()) {
             sql.append(" ORDER BY ");
             List<String> orderClauses = new ArrayList<>();
 
             pageable.getSort().forEach(order -> {
-                String columnRef = buildOrderByColumnReference(entity, order.getProperty(), joins);
-                orderClauses.add(columnRef + " " + order.getDirection().name());
+                String columnRef = buildOrderByColumnReference(entity, spec, order.getProperty());
+                orderClauses.add(columnRef + orderDirection(order));
             });
 
             sql.append(String.join(", ", orderClauses));
         }
     }
 
-    private String buildOrderByColumnReference(
-            RelationalPersistentEntity<?> entity, String property, Map<String, JoinInfo> joins) {
-        if (propertyResolver.isNestedProperty(property)) {
-            String[] parts = property.split("\\.");
-            String collectionName = parts[0];
-            String fieldName = parts[1];
+    private static String orderDirection(Sort.Order order) {
+        return switch (order.getNullHandling()) {
+            case NULLS_FIRST -> " " + order.getDirection().name() + " NULLS FIRST";
+            case NULLS_LAST -> " " + order.getDirection().name() + " NULLS LAST";
+            case NATIVE -> " " + order.getDirection().name();
+        };
+    }
 
-            JoinInfo joinInfo = joins.get(collectionName);
-            if (joinInfo != null) {
-                RelationalPersistentEntity<?> nestedEntity = propertyResolver.getNestedEntity(entity, collectionName);
-                RelationalPersistentProperty nestedProperty = nestedEntity.getPersistentProperty(fieldName);
+    private static Sort sortOf(Pageable pageable) {
+        return pageable != null ? pageable.getSort() : Sort.unsorted();
+    }
 
-                return buildColumnReference(joinInfo.alias(), nestedProperty);
-            }
-            throw new IllegalArgumentException("Invalid sort property: " + property);
-        } else {
-            RelationalPersistentProperty entityProperty = entity.getPersistentProperty(property);
-            if (entityProperty != null) {
-                return buildColumnReference("base", entityProperty);
-            }
-            throw new IllegalArgumentException("Invalid sort property: " + property);
+    private String buildOrderByColumnReference(
+            RelationalPersistentEntity<?> entity, JdbcSpecification<?> spec, String property) {
+        if (!SortOrder.RELEVANCE.equals(property)) {
+            return propertyColumn(entity, property, "sort");
         }
+        String relevance = spec.getExpression() != null
+                ? spec.getExpression().relevanceSql(createContext(entity, Map.of()))
+                : null;
+        if (relevance == null) {
+            throw new InvalidFilterCriteriaException(
+                    property, "sort", "Sorting by relevance requires an fts or similar filter");
+        }
+        return relevance;
+    }
+
+    private SqlContext createContext(RelationalPersistentEntity<?> entity, Map<String, JoinInfo> joins) {
+        return new SqlContext(
+                entity,
+                joins,
+                propertyResolver,
+                mappingContext,
+                0,
+                textSearchConfig,
+                similarityThreshold,
+                getFilterSchema(entity));
+    }
+
+    /** Filter schema of the aggregate, compiled on first use; repositories request it when they are created. */
+    FilterSchema getFilterSchema(RelationalPersistentEntity<?> entity) {
+        FilterSchema schema = filterSchemas.get(entity.getType());
+        return schema != null
+                ? schema
+                : filterSchemas.computeIfAbsent(
+                        entity.getType(), type -> new FilterSchema(entity, propertyResolver, mappingContext));
     }
 
-    private void appendPagination(StringBuilder sql, Pageable pageable) {
+    private void appendPagination(StringBuilder sql, JdbcSpecification<?> spec, Pageable pageable) {
         if (pageable != null && pageable.isPaged()) {
-            sql.append(" LIMIT ")
-                    .append(pageable.getPageSize())
-                    .append(" OFFSET ")
-                    .append(pageable.getOffset());
+            sql.append(" LIMIT :").append(LIMIT_PARAM);
+            // Keyset pages seek to their start position in the WHERE clause instead of skipping rows
+            if (!spec.isKeyset()) {
+                sql.append(" OFFSET :").append(OFFSET_PARAM);
+            }
         }
     }
 
@@ -198,6 +821,19 @@ public class SqlBuilder {
         Assert.notNull(spec, "Specification must not be null");
         Assert.notNull(projectionType, "Projection type must not be null");
 
+        return toSql(
+                new SqlTemplateKey("projection", entity, projectionType, spec, pageable),
+                entity,
+                spec,
+                pageable,
+                () -> compileProjectionSql(entity, spec, projectionType, pageable));
+    }
+
+    private SqlTemplate compileProjectionSql(
+            RelationalPersistentEntity<?> entity,
+            JdbcSpecification<?> spec,
+            Class<?> projectionType,
+            Pageable pageable) {
         log.debug(
                 "Building projection SQL for entity: {}, projection: {}",
                 entity.getType().getSimpleName(),
@@ -206,10 +842,18 @@ public class SqlBuilder {
         StringBuilder sql = new StringBuilder();
         List<String> columns = getProjectionColumns(entity, projectionType);
 
+        // Inline collections are correlated to the page rows by the id, selected under its column name
+        Map<String, RelationalPersistentProperty> inlineCollections = getInlineCollections(entity, projectionType);
+        String idColumn = entity.getIdColumn().getReference();
+        if (!inlineCollections.isEmpty()
+                && columns.stream().noneMatch(col -> col.endsWith(" as \"" + idColumn + "\""))) {
+            columns.add("\"base\".\"" + idColumn + "\" as \"" + idColumn + "\"");
+        }
+
         // Add any columns used in ORDER BY if not already present
         if (pageable != null && pageable.getSort().isSorted()) {
             pageable.getSort().forEach(order -> {
-                String columnRef = buildOrderByColumnReference(entity, order.getProperty(), Map.of());
+                String columnRef = buildOrderByColumnReference(entity, spec, order.getProperty());
                 // Add sortable column to projection if not already there
                 String columnName = order.getProperty();
                 if (!columns.stream().anyMatch(col -> col.contains(" as \"" + columnName + "\""))) {
@@ -218,10 +862,6 @@ public class SqlBuilder {
             });
         }
 
-        sql.append("SELECT DISTINCT ");
-        sql.append(String.join(", ", columns));
-        sql.append(" FROM \"").append(entity.getTableName().getReference()).append("\" \"base\"");
-
         // Get required joins from both filter criteria and projections
         Set<String> requiredJoins = new HashSet<>();
 
@@ -237,9 +877,19 @@ public class SqlBuilder {
                     .map(FilterCriteria::getField)
                     .filter(field -> field != null && propertyResolver.isNestedProperty(field))
                     .map(field -> field.split("\\.")[0])
+                    // Collection filters are rendered as EXISTS subqueries
+                    .filter(prefix -> !isCollection(entity, prefix))
                     .forEach(requiredJoins::add);
         }
 
+        // Add joins from sort paths, shared with the filters on the same reference
+        sortOf(pageable).stream()
+                .map(Sort.Order::getProperty)
+                .filter(propertyResolver::isNestedProperty)
+                .map(field -> field.split("\\.")[0])
+                .filter(prefix -> !isCollection(entity, prefix))
+                .forEach(requiredJoins::add);
+
         // Add joins from projection methods
         for (Method method : projectionType.getMethods()) {
             Value valueAnn = method.getAnnotation(Value.class);
@@ -272,16 +922,122 @@ public class SqlBuilder {
                         prefix -> createJoinInfo(entity, prefix),
                         (existing, replacement) -> existing));
 
+        sql.append(selectDistinct(joins));
+        sql.append(String.join(", ", columns));
+        sql.append(" FROM \"").append(entity.getTableName().getReference()).append("\" \"base\"");
+
         appendJoins(sql, entity, joins);
         appendWhere(sql, entity, spec, joins);
-        appendOrderBy(sql, entity, pageable, joins);
-        appendPagination(sql, pageable);
+        appendOrderBy(sql, entity, spec, pageable);
+        appendPagination(sql, spec, pageable);
+
+        if (!inlineCollections.isEmpty()) {
+            String inlineSql = wrapWithInlineCollections(entity, sql.toString(), inlineCollections, pageable);
+            return new SqlTemplate(inlineSql, joins);
+        }
+        return new SqlTemplate(sql.toString(), joins);
+    }
+
+    /** Collection properties of an {@link InlineCollections} projection, keyed by the SpEL prefix exposing them. */
+    private Map<String, RelationalPersistentProperty> getInlineCollections(
+            RelationalPersistentEntity<?> entity, Class<?> projectionType) {
+        Map<String, RelationalPersistentProperty> collections = new LinkedHashMap<>();
+        if (!projectionType.isAnnotationPresent(InlineCollections.class)) {
+            return collections;
+        }
+
+        for (Method method : projectionType.getMethods()) {
+            Value valueAnn = method.getAnnotation(Value.class);
+            if (valueAnn == null
+                    || !valueAnn.value().startsWith("#{target.")
+                    || !method.getReturnType().equals(List.class)) {
+                continue;
+            }
+            String prefix = valueAnn.value().replace("#{target.", "").replace("}", "").split("\\.")[0];
+            RelationalPersistentProperty property = entity.getPersistentProperty(prefix);
+            if (property != null && property.isCollectionLike()) {
+                collections.put(prefix, property);
+            }
+        }
+        return collections;
+    }
+
+    /**
+     * Wraps the paged projection query so that every inline collection is aggregated by a {@code LATERAL} subquery
+     * evaluated only for the rows of the page. Items are merged with their aggregate reference row, if any, and exposed
+     * as a JSON array in the {@code <prefix>__json} column.
+     */
+    private String wrapWithInlineCollections(
+            RelationalPersistentEntity<?> entity,
+            String pageSql,
+            Map<String, RelationalPersistentProperty> inlineCollections,
+            Pageable pageable) {
+        StringBuilder sql = new StringBuilder("SELECT \"page\".*");
+        inlineCollections.keySet().forEach(prefix -> sql.append(", \"")
+                .append(prefix)
+                .append("_json\".\"items\" as \"")
+                .append(prefix)
+                .append(INLINE_COLLECTION_SUFFIX)
+                .append("\""));
+        sql.append(" FROM (").append(pageSql).append(") \"page\"");
+
+        inlineCollections.forEach((prefix, property) -> {
+            RelationalPersistentEntity<?> collectionEntity = propertyResolver.getNestedEntity(entity, prefix);
+            AggregateReference reference = propertyResolver.findFirstAggregateReference(collectionEntity);
+
+            sql.append(" LEFT JOIN LATERAL (SELECT jsonb_agg(to_jsonb(\"collection\")");
+            if (reference != null) {
+                sql.append(" || COALESCE(to_jsonb(\"ref\"), '{}'::jsonb)");
+            }
+            String itemOrderColumn = getCollectionOrderColumn(collectionEntity, property);
+            if (itemOrderColumn != null) {
+                sql.append(" ORDER BY \"collection\".\"").append(itemOrderColumn).append("\"");
+            }
+            sql.append(") as \"items\" FROM \"")
+                    .append(collectionEntity.getTableName().getReference())
+                    .append("\" \"collection\"");
+            if (reference != null) {
+                RelationalPersistentEntity<?> targetEntity =
+                        mappingContext.getRequiredPersistentEntity(reference.target());
+                sql.append(" LEFT JOIN \"")
+                        .append(targetEntity.getTableName().getReference())
+                        .append("\" \"ref\" ON \"collection\".\"")
+                        .append(reference.sourceColumn())
+                        .append("\" = \"ref\".\"")
+                        .append(reference.targetColumn())
+                        .append("\"");
+            }
+            sql.append(" WHERE \"collection\".\"")
+                    .append(property.getReverseColumnName(entity).getReference())
+                    .append("\" = \"page\".\"")
+                    .append(entity.getIdColumn().getReference())
+                    .append("\") \"")
+                    .append(prefix)
+                    .append("_json\" ON true");
+        });
 
-        log.debug("Generated SQL: {}", sql);
+        // The inner query exposes every sort property under its own name
+        if (pageable != null && pageable.getSort().isSorted()) {
+            List<String> orderClauses = new ArrayList<>();
+            pageable.getSort()
+                    .forEach(order -> orderClauses.add(
+                            "\"page\".\"" + order.getProperty() + "\"" + orderDirection(order)));
+            sql.append(" ORDER BY ").append(String.join(", ", orderClauses));
+        }
 
         return sql.toString();
     }
 
+    // Items keep the order of their ids, or of their list index when the child table has no id
+    static String getCollectionOrderColumn(
+            RelationalPersistentEntity<?> collectionEntity, RelationalPersistentProperty property) {
+        if (collectionEntity.hasIdProperty()) {
+            return collectionEntity.getIdColumn().getReference();
+        }
+        SqlIdentifier keyColumn = property.getKeyColumn();
+        return keyColumn != null ? keyColumn.getReference() : null;
+    }
+
     private Set<String> extractPropertyPaths(String spelExpression) {
         Set<String> paths = new HashSet<>();
         if (spelExpression == null || !spelExpression.contains("target.")) {
@@ -308,6 +1064,11 @@ public class SqlBuilder {
         return paths;
     }
 
+    private boolean isCollection(RelationalPersistentEntity<?> entity, String prefix) {
+        RelationalPersistentProperty property = entity.getPersistentProperty(prefix);
+        return property != null && property.isCollectionLike();
+    }
+
     private JoinInfo createJoinInfo(RelationalPersistentEntity<?> entity, String prefix) {
         // First try to find property directly
         RelationalPersistentProperty property = entity.getPersistentProperty(prefix);
@@ -323,12 +1084,11 @@ public class SqlBuilder {
 
         if (property.isCollectionLike()) {
             // Collection case
-            RelationalPersistentEntity<?> nestedEntity =
-                    mappingContext.getRequiredPersistentEntity(property.getActualType());
+            RelationalPersistentEntity<?> nestedEntity = propertyResolver.getNestedEntity(entity, property.getName());
             String tableName = nestedEntity.getTableName().getReference();
             String alias = prefix + "_table";
             String foreignKeyColumn = property.getReverseColumnName(entity).getReference();
-            return JoinInfo.forCollection(tableName, alias, foreignKeyColumn);
+            return JoinInfo.forCollection(tableName, alias, foreignKeyColumn, entity.getIdColumn().getReference());
         } else {
             // Aggregate reference case
             AggregateReference reference = property.findAnnotation(AggregateReference.class);
@@ -457,7 +1217,7 @@ public class SqlBuilder {
 
         // If we have collections, we need the base ID
         if (!collectionProperties.isEmpty() && !processedColumns.contains("id")) {
-            columns.add("\"base\".\"id\" as \"id\"");
+            columns.add("\"base\".\"" + entity.getIdColumn().getReference() + "\" as \"id\"");
             log.debug("Added ID column for collections");
         }
 
@@ -470,6 +1230,7 @@ public class SqlBuilder {
         return (name.startsWith("get") || name.startsWith("is"))
                 && method.getParameterCount() == 0
                 && !method.getReturnType().equals(void.class)
+                && !Modifier.isStatic(method.getModifiers())
                 && !name.equals("getClass");
     }
 
@@ -489,4 +1250,90 @@ public class SqlBuilder {
         String replacement = "$1_$2";
         return input.replaceAll(regex, replacement).toLowerCase();
     }
+
+    /** Compiled statement together with the joins it was rendered with, needed to resolve parameter types. */
+    private record SqlTemplate(String sql, Map<String, JoinInfo> joins) {}
+
+    private static final class CachedSqlTemplate {
+        private final SqlTemplate template;
+        private volatile long lastUsed;
+
+        private CachedSqlTemplate(SqlTemplate template) {
+            this.template = template;
+            this.lastUsed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Query shape: everything the SQL text depends on, but none of the values. Filters contribute their fields,
+     * operators and grouping; keyset seeks their sort field, direction and whether the cursor sits in the NULL block.
+     */
+    private record SqlTemplateKey(
+            String statement,
+            Class<?> entityType,
+            Class<?> projectionType,
+            String filterShape,
+            String sort,
+            String paging) {
+
+        SqlTemplateKey(
+                String statement,
+                RelationalPersistentEntity<?> entity,
+                Class<?> projectionType,
+                JdbcSpecification<?> spec,
+                Pageable pageable) {
+            this(
+                    statement,
+                    entity.getType(),
+                    projectionType,
+                    describeFilters(spec),
+                    describeSort(pageable),
+                    describePaging(spec, pageable));
+        }
+
+        private static String describeFilters(JdbcSpecification<?> spec) {
+            StringBuilder shape = new StringBuilder();
+            spec.getFilterCriteria().forEach(criteria -> describeCriteria(criteria, shape));
+            if (spec.getKeysetExpression() != null) {
+                shape.append("|seek ").append(spec.getKeysetExpression().shape());
+            }
+            return shape.toString();
+        }
+
+        private static void describeCriteria(FilterCriteria criteria, StringBuilder shape) {
+            if (criteria.isCompound()) {
+                shape.append(criteria.getLogicalOperator()).append('(');
+                criteria.getChildren().forEach(child -> describeCriteria(child, shape));
+                shape.append(')');
+            } else {
+                shape.append(criteria.getField())
+                        .append(' ')
+                        .append(criteria.getOperator())
+                        .append(';');
+            }
+        }
+
+        private static String describeSort(Pageable pageable) {
+            if (pageable == null || pageable.getSort().isUnsorted()) {
+                return "";
+            }
+            StringBuilder sort = new StringBuilder();
+            for (Sort.Order order : pageable.getSort()) {
+                sort.append(order.getProperty())
+                        .append(' ')
+                        .append(order.getDirection())
+                        .append(' ')
+                        .append(order.getNullHandling())
+                        .append(';');
+            }
+            return sort.toString();
+        }
+
+        private static String describePaging(JdbcSpecification<?> spec, Pageable pageable) {
+            if (pageable == null || pageable.isUnpaged()) {
+                return "unpaged";
+            }
+            return spec.isKeyset() ? "keyset" : "offset";
+        }
+    }
 }
@@ -9,4 +9,7 @@ public record SqlContext(
         Map<String, JoinInfo> joins,
         PropertyResolver propertyResolver,
         RelationalMappingContext mappingContext,
-        int nextParamIndex) {}
+        int nextParamIndex,
+        String textSearchConfig,
+        double similarityThreshold,
+        FilterSchema filterSchema) {}
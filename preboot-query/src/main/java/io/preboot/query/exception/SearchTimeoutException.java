@@ -0,0 +1,15 @@
+package io.preboot.query.exception;
+
+/** Thrown when a search is cancelled by its statement timeout. */
+public class SearchTimeoutException extends FilteringException {
+    private final long timeoutMillis;
+
+    public SearchTimeoutException(String entityName, long timeoutMillis, Throwable cause) {
+        super(String.format("Search on %s exceeded the statement timeout of %d ms", entityName, timeoutMillis), cause);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
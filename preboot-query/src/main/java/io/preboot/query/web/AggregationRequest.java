@@ -0,0 +1,17 @@
+package io.preboot.query.web;
+
+import io.preboot.query.AggregationSpec;
+import io.preboot.query.FilterCriteria;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Builder;
+
+/** Request body for aggregation operations. Combines the filter criteria with the groups and metrics to compute. */
+@Schema(
+        description = "Aggregation request parameters",
+        requiredProperties = {"aggregation"})
+@Builder
+public record AggregationRequest(
+        @Schema(description = "Filter criteria") List<FilterCriteria> filters,
+        @Schema(description = "Group keys, metrics, ordering and limit") @NotNull AggregationSpec aggregation) {}
@@ -54,7 +54,20 @@ public abstract class CrudFilterableController<T, ID> extends FilterableControll
             boolean supportsProjections,
             List<DataExporter> dataExporters,
             QueryControllersPort controllersPort) {
-        super(repository, supportsProjections, dataExporters, controllersPort);
+        this(repository, supportsProjections, dataExporters, controllersPort, null);
+    }
+
+    /**
+     * @param objectMapper mapper of the application, so {@code /search-stream} writes rows as {@code /search} does;
+     *     {@code null} falls back to the Jackson defaults of Spring
+     */
+    protected CrudFilterableController(
+            FilterableRepository<T, ID> repository,
+            boolean supportsProjections,
+            List<DataExporter> dataExporters,
+            QueryControllersPort controllersPort,
+            ObjectMapper objectMapper) {
+        super(repository, supportsProjections, dataExporters, controllersPort, objectMapper);
         this.repository = repository;
         this.objectMapper = new ObjectMapper()
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL)
@@ -0,0 +1,97 @@
+package io.preboot.query.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Writes the {@code /search-stream} responses of the filterable controllers. */
+@Slf4j
+class NdjsonWriter {
+
+    private static final int FLUSH_ROWS = 100;
+
+    private final ObjectWriter rowWriter;
+
+    /**
+     * @param objectMapper mapper of the application, so rows are written as {@code /search} writes them; indentation
+     *     is turned off and rows are separated by newlines only, so each row stays on one line
+     */
+    NdjsonWriter(ObjectMapper objectMapper) {
+        ObjectMapper mapper = objectMapper != null ? objectMapper : Jackson2ObjectMapperBuilder.json().build();
+        this.rowWriter = mapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    /** Repository stream call handing its rows to the writer, like {@code w -> repository.streamAll(params, w)}. */
+    @FunctionalInterface
+    interface StreamQuery {
+        void run(Function<Stream<?>, Void> writer);
+    }
+
+    /**
+     * Writes the rows of {@code query}. The repository keeps its read-only transaction open while they are written, so
+     * the handler needs no transaction of its own.
+     */
+    void write(StreamQuery query, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            query.run(rows -> {
+                try {
+                    write(rows, request, response);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes one JSON document per row as the rows come off the database cursor, flushing every {@value #FLUSH_ROWS}
+     * rows, so memory use does not depend on the number of rows. A client that disconnects fails the next flush, which
+     * ends the query.
+     */
+    private void write(Stream<?> rows, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (rows) {
+            SequenceWriter sequence = rowWriter.writeValues(response.getOutputStream());
+            Iterator<?> iterator = rows.iterator();
+            int unflushed = 0;
+            try {
+                while (iterator.hasNext()) {
+                    sequence.write(iterator.next());
+                    if (++unflushed == FLUSH_ROWS) {
+                        sequence.flush();
+                        unflushed = 0;
+                    }
+                }
+                sequence.close();
+            } catch (JsonProcessingException e) {
+                throw e;
+            } catch (IOException e) {
+                if (!response.isCommitted()) {
+                    throw e;
+                }
+                // The client is gone; closing the stream releases the cursor and its connection
+                log.debug("NDJSON stream of {} aborted after the response was committed", request.getRequestURI(), e);
+            }
+        }
+    }
+}
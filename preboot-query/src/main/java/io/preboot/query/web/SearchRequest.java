@@ -1,6 +1,8 @@
 package io.preboot.query.web;
 
+import io.preboot.query.CountMode;
 import io.preboot.query.FilterCriteria;
+import io.preboot.query.SortOrder;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -17,8 +19,24 @@ public record SearchRequest(
         @Schema(description = "Page size") @Min(1) @Max(100) Integer size,
         @Schema(description = "Sort field") @Pattern(regexp = "^[a-zA-Z0-9_]+$") String sortField,
         @Schema(description = "Sort direction") Sort.Direction sortDirection,
+        @Schema(description = "Sort columns in order, replacing sortField and sortDirection") List<SortOrder> sort,
+        @Schema(description = "Fields returned by /search-fields; the id is always included") List<String> fields,
         @Schema(description = "Filter criteria") List<FilterCriteria> filters,
-        @Schema(description = "Whether to return all results without paging") boolean unpaged) {
+        @Schema(description = "Whether to return all results without paging") boolean unpaged,
+        @Schema(description = "Whether to use keyset (cursor) pagination instead of page numbers") boolean keyset,
+        @Schema(description = "Continuation token returned as nextCursor by the previous keyset page") String cursor,
+        @Schema(description = "How the total is computed: EXACT (default), ESTIMATED or NONE") CountMode countMode) {
+    /** Constructor of the original components, leaving the ones added since unset. */
+    public SearchRequest(
+            Integer page,
+            Integer size,
+            String sortField,
+            Sort.Direction sortDirection,
+            List<FilterCriteria> filters,
+            boolean unpaged) {
+        this(page, size, sortField, sortDirection, null, null, filters, unpaged, false, null, null);
+    }
+
     /** Creates an empty search request with default pagination. */
     public static SearchRequest empty() {
         return new SearchRequest(0, 20, null, Sort.Direction.ASC, List.of(), false);
@@ -1,9 +1,13 @@
 package io.preboot.query.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.preboot.exporters.api.DataExporter;
+import io.preboot.query.AggregationRow;
 import io.preboot.query.FilterableUuidRepository;
 import io.preboot.query.HasUuid;
 import io.preboot.query.SearchParams;
+import io.preboot.query.exception.InvalidFilterCriteriaException;
+import io.preboot.query.exception.SearchTimeoutException;
 import io.preboot.query.web.spi.QueryControllersPort;
 import io.preboot.query.web.spi.UserContext;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,13 +16,17 @@ import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -30,10 +38,13 @@ import org.springframework.web.server.ResponseStatusException;
  */
 public abstract class UuidFilterableController<T extends HasUuid, ID> {
 
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
     private final FilterableUuidRepository<T, ID> repository;
     private final boolean supportsProjections;
     protected final List<DataExporter> dataExporters;
     private final QueryControllersPort controllersPort;
+    private final NdjsonWriter ndjsonWriter;
 
     protected UuidFilterableController(FilterableUuidRepository<T, ID> repository) {
         this(repository, false, Collections.emptyList(), null);
@@ -49,10 +60,24 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
             boolean supportsProjections,
             List<DataExporter> dataExporters,
             QueryControllersPort controllersPort) {
+        this(repository, supportsProjections, dataExporters, controllersPort, null);
+    }
+
+    /**
+     * @param objectMapper mapper of the application, so {@code /search-stream} writes rows as {@code /search} does;
+     *     {@code null} falls back to the Jackson defaults of Spring
+     */
+    protected UuidFilterableController(
+            FilterableUuidRepository<T, ID> repository,
+            boolean supportsProjections,
+            List<DataExporter> dataExporters,
+            QueryControllersPort controllersPort,
+            ObjectMapper objectMapper) {
         this.repository = repository;
         this.supportsProjections = supportsProjections;
         this.dataExporters = dataExporters;
         this.controllersPort = controllersPort;
+        this.ndjsonWriter = new NdjsonWriter(objectMapper);
     }
 
     // READ
@@ -81,12 +106,35 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
                 .size(request.size())
                 .sortField(request.sortField())
                 .sortDirection(request.sortDirection())
+                .sort(request.sort())
                 .filters(request.filters())
+                .keyset(request.keyset())
+                .cursor(request.cursor())
+                .countMode(request.countMode())
                 .build();
 
         return repository.findAll(params);
     }
 
+    @Operation(summary = "Search entities returning only the requested fields")
+    @PostMapping("/search-fields")
+    public Page<Map<String, Object>> searchFields(@RequestBody @Valid SearchRequest request) {
+        SearchParams params = SearchParams.builder()
+                .page(request.page())
+                .size(request.size())
+                .sortField(request.sortField())
+                .sortDirection(request.sortDirection())
+                .sort(request.sort())
+                .fields(request.fields())
+                .filters(request.filters())
+                .keyset(request.keyset())
+                .cursor(request.cursor())
+                .countMode(request.countMode())
+                .build();
+
+        return repository.findAllFields(params);
+    }
+
     @Operation(
             summary = "Search entities with projection",
             parameters = {
@@ -102,29 +150,81 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
             @Parameter(description = "Projection name") @PathVariable("projection") String projection,
             @RequestBody @Valid SearchRequest request) {
 
-        if (!supportsProjections) {
-            throw new ResponseStatusException(
-                    HttpStatus.NOT_IMPLEMENTED,
-                    "Projections are not supported by this controller. Override resolveProjectionClass() to enable projections.");
-        }
-
-        Class<P> projectionType = resolveProjectionClass(projection);
-        if (projectionType == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown projection: " + projection);
-        }
+        Class<P> projectionType = requireProjectionClass(projection);
 
         SearchParams params = SearchParams.builder()
                 .page(request.page())
                 .size(request.size())
                 .sortField(request.sortField())
                 .sortDirection(request.sortDirection())
+                .sort(request.sort())
                 .filters(request.filters())
                 .unpaged(request.unpaged())
+                .keyset(request.keyset())
+                .cursor(request.cursor())
+                .countMode(request.countMode())
                 .build();
 
         return repository.findAllProjectedBy(params, projectionType);
     }
 
+    @Operation(summary = "Stream all entities matching the criteria as newline-delimited JSON")
+    @PostMapping(value = "/search-stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void searchStream(
+            @RequestBody @Valid SearchRequest request, HttpServletRequest httpRequest, HttpServletResponse response)
+            throws IOException {
+        SearchParams params = createStreamParams(request);
+        ndjsonWriter.write(writer -> repository.streamAll(params, writer), httpRequest, response);
+    }
+
+    @Operation(
+            summary = "Stream all entities matching the criteria with projection as newline-delimited JSON",
+            parameters = {
+                @Parameter(
+                        name = "projection",
+                        in = ParameterIn.PATH,
+                        required = true,
+                        description = "Projection name",
+                        schema = @Schema(type = "string"))
+            })
+    @PostMapping(value = "/search-stream/{projection}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public <P> void searchStreamProjected(
+            @Parameter(description = "Projection name") @PathVariable("projection") String projection,
+            @RequestBody @Valid SearchRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse response)
+            throws IOException {
+        Class<P> projectionType = requireProjectionClass(projection);
+
+        SearchParams params = createStreamParams(request);
+        ndjsonWriter.write(
+                writer -> repository.streamAllProjectedBy(params, projectionType, writer), httpRequest, response);
+    }
+
+    private SearchParams createStreamParams(SearchRequest request) {
+        return SearchParams.builder()
+                .filters(request.filters())
+                .sortField(request.sortField())
+                .sortDirection(request.sortDirection())
+                .sort(request.sort())
+                .fetchSize(getStreamFetchSize())
+                .build();
+    }
+
+    private <P> Class<P> requireProjectionClass(String projection) {
+        if (!supportsProjections) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_IMPLEMENTED,
+                    "Projections are not supported by this controller. Override resolveProjectionClass() to enable projections.");
+        }
+
+        Class<P> projectionType = resolveProjectionClass(projection);
+        if (projectionType == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown projection: " + projection);
+        }
+        return projectionType;
+    }
+
     @Operation(summary = "Find one entity matching the criteria")
     @PostMapping("/find")
     public Optional<T> findOne(@RequestBody @Valid SearchRequest request) {
@@ -139,6 +239,18 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
         return repository.count(params);
     }
 
+    @Operation(summary = "Aggregate entities matching the criteria into groups with metrics")
+    @PostMapping("/aggregate")
+    public List<AggregationRow> aggregate(@RequestBody @Valid AggregationRequest request) {
+        SearchParams params = SearchParams.builder().filters(request.filters()).build();
+
+        try {
+            return repository.aggregate(params, request.aggregation());
+        } catch (InvalidFilterCriteriaException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     /**
      * Exports data to a specified format.
      *
@@ -186,6 +298,7 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
                 .filters(exportRequest.searchRequest().filters())
                 .sortField(exportRequest.searchRequest().sortField())
                 .sortDirection(exportRequest.searchRequest().sortDirection())
+                .sort(exportRequest.searchRequest().sort())
                 .build();
 
         Stream<T> data = repository.findAllAsStream(params);
@@ -240,6 +353,7 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
                 .filters(exportRequest.searchRequest().filters())
                 .sortField(exportRequest.searchRequest().sortField())
                 .sortDirection(exportRequest.searchRequest().sortDirection())
+                .sort(exportRequest.searchRequest().sort())
                 .build();
 
         Map<String, String> labels = prepareExportLabels();
@@ -275,6 +389,17 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
+    /**
+     * Maps searches cancelled by their statement timeout to 503, so clients and load balancers back off and retry
+     * instead of treating the overload as a server error.
+     */
+    @ExceptionHandler(SearchTimeoutException.class)
+    public ResponseEntity<ProblemDetail> handleSearchTimeout(SearchTimeoutException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
     /**
      * Finds an exporter for the specified format.
      *
@@ -313,6 +438,11 @@ public abstract class UuidFilterableController<T extends HasUuid, ID> {
         return null;
     }
 
+    /** Rows fetched per database round trip by the {@code /search-stream} endpoints. */
+    protected int getStreamFetchSize() {
+        return DEFAULT_STREAM_FETCH_SIZE;
+    }
+
     /** @return whether this controller supports projections */
     protected boolean supportsProjections() {
         return supportsProjections;
@@ -3,6 +3,7 @@ package io.preboot.query;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.preboot.query.config.TestContainersConfig;
+import io.preboot.query.testdata.Product;
 import io.preboot.query.testdata.ProductRepository;
 import java.math.BigDecimal;
 import java.util.List;
@@ -125,4 +126,79 @@ class AggregateReferenceTest {
             assertThat(product.getCategoryDescription()).contains("devices");
         });
     }
+
+    @Test
+    void findAll_WithMultiColumnSortOnAggregateReference_ShouldOrderByEachColumn() {
+        // Arrange
+        SearchParams params = SearchParams.builder()
+                .sort(List.of(SortOrder.asc("category.name"), SortOrder.desc("price").nullsLast()))
+                .build();
+
+        // Act
+        Page<Product> result = productRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent())
+                .extracting(Product::getName)
+                .containsExactly("Programming Book", "T-Shirt", "Laptop", "Smartphone");
+    }
+
+    @Test
+    void findAll_WithFilterAndSortOnSameReference_ShouldJoinReferenceOnce() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.neq("category.name", "Books"))
+                .sort(List.of(SortOrder.desc("category.name"), SortOrder.asc("name")))
+                .build();
+
+        // Act
+        Page<ProductWithCategoryProjection> result =
+                productRepository.findAllProjectedBy(params, ProductWithCategoryProjection.class);
+
+        // Assert
+        assertThat(result.getContent())
+                .extracting(ProductWithCategoryProjection::getName)
+                .containsExactly("Laptop", "Smartphone", "T-Shirt");
+    }
+
+    @Test
+    void findAll_WithFullTextSearch_ShouldMatchWebSearchQuery() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.fts("category.description", "accessories -apparel"))
+                .sort(List.of(SortOrder.relevance()))
+                .build();
+
+        // Act
+        Page<Product> result = productRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent()).extracting(Product::getName).containsExactlyInAnyOrder("Smartphone", "Laptop");
+    }
+
+    @Test
+    @Sql({"/aggregate-reference-test.sql", "/text-search-test.sql"})
+    void findAll_WithSimilarAndRelevanceSort_ShouldTolerateTypos() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.similar("name", "Smartphne"))
+                .sort(List.of(SortOrder.relevance()))
+                .build();
+
+        // Act
+        Page<Product> result = productRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent()).extracting(Product::getName).containsExactly("Smartphone");
+    }
+
+    @Test
+    void findAll_WithPrefix_ShouldMatchWildcardsLiterally() {
+        // Act
+        Page<Product> matching = productRepository.findAll(
+                SearchParams.criteria(FilterCriteria.prefix("name", "T-")).build());
+        Page<Product> wildcard = productRepository.findAll(
+                SearchParams.criteria(FilterCriteria.prefix("name", "%")).build());
+
+        // Assert
+        assertThat(matching.getContent()).extracting(Product::getName).containsExactly("T-Shirt");
+        assertThat(wildcard.getContent()).isEmpty();
+    }
 }
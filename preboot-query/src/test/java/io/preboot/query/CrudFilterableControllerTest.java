@@ -2,15 +2,22 @@ package io.preboot.query;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import io.preboot.query.web.CrudFilterableController;
+import io.preboot.query.web.SearchRequest;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,7 +28,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 @ExtendWith(MockitoExtension.class)
 class CrudFilterableControllerTest {
@@ -199,6 +210,82 @@ class CrudFilterableControllerTest {
         }
     }
 
+    @Nested
+    class StreamTests {
+
+        @Test
+        void shouldWriteOneJsonLinePerRowAndCloseStream() throws Exception {
+            // Arrange
+            TestEntity second = createTestEntity();
+            second.setId(2L);
+            AtomicBoolean closed = new AtomicBoolean();
+            streamRows(Stream.of(existingEntity, second).onClose(() -> closed.set(true)));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // Act
+            controller.searchStream(SearchRequest.empty(), new MockHttpServletRequest(), response);
+
+            // Assert
+            assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+            String[] lines = response.getContentAsString().split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).contains("\"id\":1").contains("\"name\":\"Original Name\"");
+            assertThat(lines[1]).contains("\"id\":2");
+            assertThat(closed).isTrue();
+            verify(repository).streamAll(argThat(params -> params.getFetchSize() != null), any());
+        }
+
+        @Test
+        void shouldWriteRowsWithObjectMapperOfApplication() throws Exception {
+            // Arrange
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                    .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                    .build();
+            TestController snakeCaseController = new TestController(repository, objectMapper);
+            streamRows(Stream.of(existingEntity));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // Act
+            snakeCaseController.searchStream(SearchRequest.empty(), new MockHttpServletRequest(), response);
+
+            // Assert
+            assertThat(response.getContentAsString())
+                    .contains("\"created_at\":\"")
+                    .contains("\"product_id\":1")
+                    .doesNotContain("createdAt");
+        }
+
+        @Test
+        void shouldWriteEachRowOnOneLineWhenObjectMapperIndents() throws Exception {
+            // Arrange
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().indentOutput(true).build();
+            TestController indentingController = new TestController(repository, objectMapper);
+            TestEntity second = createTestEntity();
+            second.setId(2L);
+            streamRows(Stream.of(existingEntity, second));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // Act
+            indentingController.searchStream(SearchRequest.empty(), new MockHttpServletRequest(), response);
+
+            // Assert
+            String[] lines = response.getContentAsString().split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).startsWith("{\"id\":1,").endsWith("}");
+            assertThat(lines[1]).startsWith("{\"id\":2,").endsWith("}");
+        }
+    }
+
+    // The repository closes the stream once the action passed to streamAll returns
+    private void streamRows(Stream<TestEntity> rows) {
+        when(repository.streamAll(any(), any())).thenAnswer(invocation -> {
+            Function<Stream<TestEntity>, ?> action = invocation.getArgument(1);
+            try (rows) {
+                return action.apply(rows);
+            }
+        });
+    }
+
     private TestEntity createTestEntity() {
         return TestEntity.builder()
                 .id(1L)
@@ -222,6 +309,10 @@ class CrudFilterableControllerTest {
         TestController(FilterableRepository<TestEntity, Long> repository) {
             super(repository);
         }
+
+        TestController(FilterableRepository<TestEntity, Long> repository, ObjectMapper objectMapper) {
+            super(repository, false, List.of(), null, objectMapper);
+        }
     }
 
     @Data
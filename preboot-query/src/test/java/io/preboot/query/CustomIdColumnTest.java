@@ -0,0 +1,116 @@
+package io.preboot.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.preboot.query.config.TestContainersConfig;
+import io.preboot.query.testdata.TestWarehouse;
+import io.preboot.query.testdata.TestWarehouseRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@Transactional
+@Sql("/custom-id-test.sql")
+class CustomIdColumnTest {
+
+    @Autowired
+    private TestWarehouseRepository warehouseRepository;
+
+    public interface BinCode {
+        String getCode();
+    }
+
+    public interface WarehouseWithBins {
+        String getName();
+
+        @Value("#{target.bins}")
+        List<BinCode> getBins();
+    }
+
+    @InlineCollections
+    public interface WarehouseWithInlineBins {
+        String getName();
+
+        @Value("#{target.bins}")
+        List<BinCode> getBins();
+    }
+
+    @Test
+    void findAllProjectedBy_WithInlineCollectionsAndCustomIdColumn_ShouldOrderItemsByListIndex() {
+        // Arrange
+        SearchParams params = SearchParams.builder().sortField("name").build();
+
+        // Act
+        Page<WarehouseWithInlineBins> result =
+                warehouseRepository.findAllProjectedBy(params, WarehouseWithInlineBins.class);
+
+        // Assert
+        assertThat(result.getContent()).extracting(WarehouseWithInlineBins::getName).containsExactly("North", "South");
+        assertThat(result.getContent().get(0).getBins()).extracting(BinCode::getCode).containsExactly("N-A", "N-B");
+        assertThat(result.getContent().get(1).getBins()).extracting(BinCode::getCode).containsExactly("S-A");
+    }
+
+    @Test
+    void findAllProjectedBy_WithCollectionAndCustomIdColumn_ShouldOrderItemsByListIndex() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("name", "North"))
+                .build();
+
+        // Act
+        Page<WarehouseWithBins> result = warehouseRepository.findAllProjectedBy(params, WarehouseWithBins.class);
+
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getBins()).extracting(BinCode::getCode).containsExactly("N-A", "N-B");
+    }
+
+    @Test
+    void count_WithCollectionFilterAndCustomIdColumn_ShouldCountEachWarehouseOnce() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.like("bins.code", "N-%"))
+                .build();
+
+        // Act
+        long count = warehouseRepository.count(params);
+
+        // Assert
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void findAll_WithCollectionFilterAndCustomIdColumn_ShouldCorrelateOnIdColumn() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("bins.code", "S-A"))
+                .build();
+
+        // Act
+        Page<TestWarehouse> result = warehouseRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent()).extracting(TestWarehouse::getName).containsExactly("South");
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void findAll_WithEstimatedCountAndCustomIdColumn_ShouldReturnMatchingRows() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("name", "South"))
+                .countMode(CountMode.ESTIMATED)
+                .build();
+
+        // Act
+        Page<TestWarehouse> result = warehouseRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent()).extracting(TestWarehouse::getName).containsExactly("South");
+        assertThat(result.getTotalElements()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -1,20 +1,31 @@
 package io.preboot.query;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 
 import io.preboot.query.config.TestContainersConfig;
+import io.preboot.query.exception.InvalidFilterCriteriaException;
+import io.preboot.query.exception.SearchTimeoutException;
+import io.preboot.query.exception.TypeConversionException;
 import io.preboot.query.testdata.TestOrder;
 import io.preboot.query.testdata.TestOrderRepository;
+import io.preboot.query.testdata.TestShipmentRepository;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.IllegalTransactionStateException;
 import org.springframework.transaction.annotation.Transactional;
 
 @SpringBootTest
@@ -26,6 +37,15 @@ class FilterableRepositoryIntegrationTest {
     @Autowired
     private TestOrderRepository orderRepository;
 
+    @Autowired
+    private TestShipmentRepository shipmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FilterableFragmentContext fragmentContext;
+
     @Test
     void findAll_WithNoFilters_ShouldReturnAllOrders() {
         // Arrange
@@ -158,6 +178,43 @@ class FilterableRepositoryIntegrationTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void findOne_WithReusedParams_ShouldLeaveThemForFollowingSearch() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .page(1)
+                .size(1)
+                .build();
+
+        // Act
+        Optional<TestOrder> first = orderRepository.findOne(params);
+        Page<TestOrder> page = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(first).map(TestOrder::getOrderNumber).contains("ORD002");
+        assertThat(params.getPage()).isEqualTo(1);
+        assertThat(params.getSize()).isEqualTo(1);
+        assertThat(params.getCountMode()).isEqualTo(CountMode.EXACT);
+        assertThat(page.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD005");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void findAll_WithUnknownOperator_ShouldRejectFilter() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.builder()
+                        .field("status")
+                        .operator("contains")
+                        .value("PENDING")
+                        .build())
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderRepository.findAll(params))
+                .isInstanceOf(InvalidFilterCriteriaException.class)
+                .hasMessageContaining("Unsupported operator: contains");
+    }
+
     @Test
     void count_WithFilters_ShouldReturnCorrectCount() {
         // Arrange
@@ -577,4 +634,421 @@ class FilterableRepositoryIntegrationTest {
 
         assertThat(result.getContent()).isEmpty();
     }
+
+    @Test
+    void findAll_WithKeysetPagination_ShouldWalkAllPagesInOrder() {
+        List<BigDecimal> amounts = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            SearchParams params = SearchParams.builder()
+                    .size(2)
+                    .sortField("amount")
+                    .sortDirection(Sort.Direction.DESC)
+                    .keyset(true)
+                    .cursor(cursor)
+                    .build();
+
+            Page<TestOrder> page = orderRepository.findAll(params);
+
+            assertThat(page).isInstanceOf(KeysetPage.class);
+            assertThat(page.getTotalElements()).isEqualTo(5);
+            page.getContent().forEach(order -> amounts.add(order.getAmount()));
+            cursor = ((KeysetPage<TestOrder>) page).getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(amounts)
+                .hasSize(5)
+                .doesNotHaveDuplicates()
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void findAll_WithKeysetPaginationAndFilter_ShouldSeekWithinFilteredRows() {
+        SearchParams firstParams = SearchParams.criteria(FilterCriteria.neq("status", "CANCELLED"))
+                .size(2)
+                .sortField("createdAt")
+                .keyset(true)
+                .build();
+
+        KeysetPage<TestOrder> firstPage = (KeysetPage<TestOrder>) orderRepository.findAll(firstParams);
+
+        assertThat(firstPage.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD001", "ORD002");
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        SearchParams secondParams = SearchParams.criteria(FilterCriteria.neq("status", "CANCELLED"))
+                .size(2)
+                .sortField("createdAt")
+                .cursor(firstPage.getNextCursor())
+                .build();
+
+        KeysetPage<TestOrder> secondPage = (KeysetPage<TestOrder>) orderRepository.findAll(secondParams);
+
+        assertThat(secondPage.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD003", "ORD005");
+    }
+
+    @Test
+    void findAll_WithCursorForDifferentSortField_ShouldFail() {
+        KeysetPage<TestOrder> firstPage = (KeysetPage<TestOrder>) orderRepository.findAll(SearchParams.builder()
+                .size(2)
+                .sortField("amount")
+                .keyset(true)
+                .build());
+
+        SearchParams params = SearchParams.builder()
+                .size(2)
+                .sortField("createdAt")
+                .cursor(firstPage.getNextCursor())
+                .build();
+
+        assertThatThrownBy(() -> orderRepository.findAll(params)).isInstanceOf(InvalidFilterCriteriaException.class);
+    }
+
+    @Test
+    void findAll_WithoutCount_ShouldDetectNextPageFromLookaheadRow() {
+        SearchParams firstParams = SearchParams.builder()
+                .page(0)
+                .size(2)
+                .countMode(CountMode.NONE)
+                .build();
+        SearchParams lastParams = SearchParams.builder()
+                .page(2)
+                .size(2)
+                .countMode(CountMode.NONE)
+                .build();
+
+        Page<TestOrder> firstPage = orderRepository.findAll(firstParams);
+        Page<TestOrder> lastPage = orderRepository.findAll(lastParams);
+
+        assertThat(firstPage).isInstanceOf(SearchPage.class);
+        assertThat(firstPage.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD001", "ORD002");
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(((SearchPage<TestOrder>) firstPage).getCountMode()).isEqualTo(CountMode.NONE);
+        assertThat(lastPage.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD005");
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(lastPage.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void findAll_WithEstimatedCount_ShouldKeepExactNextPageFlag() {
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .size(1)
+                .countMode(CountMode.ESTIMATED)
+                .build();
+
+        SearchParams lastParams = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .page(1)
+                .size(1)
+                .countMode(CountMode.ESTIMATED)
+                .build();
+
+        Page<TestOrder> page = orderRepository.findAll(params);
+        Page<TestOrder> lastPage = orderRepository.findAll(lastParams);
+
+        assertThat(page.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD002");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(2);
+        assertThat(lastPage.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD005");
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(lastPage.getTotalElements()).isEqualTo(2);
+        assertThat(lastPage.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void findAll_WithSameQueryShape_ShouldBindNewValuesToCachedSql() {
+        SearchParams firstParams = SearchParams.criteria(FilterCriteria.gte("amount", "300"))
+                .page(0)
+                .size(2)
+                .build();
+        SearchParams secondParams = SearchParams.criteria(FilterCriteria.gte("amount", "450"))
+                .page(0)
+                .size(2)
+                .build();
+        SearchParams nextPageParams = SearchParams.criteria(FilterCriteria.gte("amount", "300"))
+                .page(1)
+                .size(2)
+                .build();
+
+        Page<TestOrder> first = orderRepository.findAll(firstParams);
+        Page<TestOrder> second = orderRepository.findAll(secondParams);
+        Page<TestOrder> nextPage = orderRepository.findAll(nextPageParams);
+
+        assertThat(first.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD003", "ORD004");
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(second.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD005");
+        assertThat(nextPage.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD005");
+    }
+
+    @Test
+    void findAllAsStream_WithFetchSizeOutsideReadOnlyTransaction_ShouldFailFast() {
+        // Arrange
+        SearchParams params = SearchParams.empty().setFetchSize(100);
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderRepository.findAllAsStream(params))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void saveAllAndDeleteAllById_ShouldWriteAllOrders() {
+        // Arrange
+        List<TestOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TestOrder order = new TestOrder();
+            order.setOrderNumber("BATCH" + i);
+            order.setAmount(new BigDecimal("10.00"));
+            order.setStatus("NEW");
+            order.setCreatedAt(LocalDateTime.now());
+            orders.add(order);
+        }
+        SearchParams params = SearchParams.criteria(FilterCriteria.like("orderNumber", "BATCH")).build();
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        orderRepository.saveAll(orders).forEach(order -> ids.add(order.getId()));
+        long saved = orderRepository.count(params);
+        orderRepository.deleteAllById(ids);
+
+        // Assert
+        assertThat(ids).hasSize(3).doesNotContainNull();
+        assertThat(saved).isEqualTo(3);
+        assertThat(orderRepository.count(params)).isZero();
+        assertThat(orderRepository.count(SearchParams.empty())).isEqualTo(5);
+    }
+
+    @Test
+    void findAllByIdAndExists_ShouldQueryByIds() {
+        // Arrange
+        List<Long> ids = orderRepository.findAll(SearchParams.empty()).getContent().stream()
+                .map(TestOrder::getId)
+                .limit(3)
+                .toList();
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(-1L);
+
+        // Act & Assert
+        assertThat(orderRepository.findAllById(requested))
+                .extracting(TestOrder::getId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(orderRepository.existsById(ids.get(0))).isTrue();
+        assertThat(orderRepository.existsById(-1L)).isFalse();
+        assertThat(orderRepository.exists(SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                        .build()))
+                .isTrue();
+        assertThat(orderRepository.exists(SearchParams.criteria(FilterCriteria.eq("status", "UNKNOWN"))
+                        .build()))
+                .isFalse();
+    }
+
+    @Test
+    void updateWhere_ShouldUpdateMatchingOrdersOnly() {
+        // Act
+        long updated = orderRepository.updateWhere(
+                SearchParams.criteria(FilterCriteria.eq("status", "PENDING")).build(), Map.of("status", "ARCHIVED"));
+
+        // Assert
+        assertThat(updated).isEqualTo(2);
+        assertThat(orderRepository.findAll(SearchParams.criteria(FilterCriteria.eq("status", "ARCHIVED"))
+                                .sortField("orderNumber")
+                                .build())
+                        .getContent())
+                .extracting(TestOrder::getOrderNumber)
+                .containsExactly("ORD002", "ORD005");
+        assertThat(orderRepository.count(SearchParams.empty())).isEqualTo(5);
+    }
+
+    @Test
+    void deleteWhere_WithCollectionFilter_ShouldDeleteOrdersWithTheirItems() {
+        // Act
+        long deleted = orderRepository.deleteWhere(
+                SearchParams.criteria(FilterCriteria.eq("orderItems.productCode", "PROD-C")).build());
+
+        // Assert
+        assertThat(deleted).isEqualTo(2);
+        assertThat(orderRepository.findAll(SearchParams.empty()).getContent())
+                .extracting(TestOrder::getOrderNumber)
+                .containsExactlyInAnyOrder("ORD001", "ORD003", "ORD004");
+    }
+
+    @Test
+    @Sql({"/test-data.sql", "/nested-delete-test.sql"})
+    void deleteWhere_WithNestedCollections_ShouldDeleteChildTablesDeepestFirst() {
+        // Act
+        long deleted = shipmentRepository.deleteWhere(
+                SearchParams.criteria(FilterCriteria.eq("shipmentNumber", "SHP001")).build());
+
+        // Assert
+        assertThat(deleted).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT label FROM parcels", String.class))
+                .containsExactly("Box C");
+        assertThat(jdbcTemplate.queryForList("SELECT description FROM parcel_items", String.class))
+                .containsExactly("Chair");
+        assertThat(jdbcTemplate.queryForList("SELECT shipment_number FROM shipments", String.class))
+                .containsExactly("SHP002");
+    }
+
+    @Test
+    void aggregate_WithTopNByMetric_ShouldReturnLargestGroup() {
+        // Arrange
+        AggregationSpec aggregation = AggregationSpec.builder()
+                .groupBy(List.of(AggregationSpec.GroupBy.of("status")))
+                .metrics(List.of(AggregationSpec.Metric.count(), AggregationSpec.Metric.sum("amount")))
+                .orderBy("sum_amount")
+                .orderDirection(Sort.Direction.DESC)
+                .limit(1)
+                .build();
+
+        // Act
+        List<AggregationRow> result = orderRepository.aggregate(SearchParams.empty(), aggregation);
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).keys()).containsEntry("status", "PENDING");
+        assertThat(result.get(0).metrics()).containsEntry("count", 2L);
+        assertThat((BigDecimal) result.get(0).metrics().get("sum_amount")).isEqualByComparingTo("700");
+    }
+
+    @Test
+    void aggregate_WithBuckets_ShouldGroupByDateAndHistogram() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.neq("status", "CANCELLED")).build();
+        AggregationSpec byMonth = AggregationSpec.builder()
+                .groupBy(List.of(AggregationSpec.GroupBy.byDate("createdAt", AggregationSpec.DateBucket.MONTH)))
+                .build();
+        AggregationSpec byAmount = AggregationSpec.builder()
+                .groupBy(List.of(AggregationSpec.GroupBy.histogram("amount", new BigDecimal("250"))))
+                .build();
+
+        // Act
+        List<AggregationRow> months = orderRepository.aggregate(params, byMonth);
+        List<AggregationRow> amounts = orderRepository.aggregate(params, byAmount);
+
+        // Assert
+        assertThat(months).singleElement().satisfies(row -> {
+            assertThat(row.keys()).containsEntry("createdAt", LocalDateTime.of(2024, 1, 1, 0, 0));
+            assertThat(row.metrics()).containsEntry("count", 4L);
+        });
+        assertThat(amounts).extracting(row -> row.metrics().get("count")).containsExactly(2L, 1L, 1L);
+    }
+
+    @Test
+    void aggregate_WithNonPositiveIntervalOrLimit_ShouldFail() {
+        // Arrange
+        AggregationSpec zeroInterval = AggregationSpec.builder()
+                .groupBy(List.of(AggregationSpec.GroupBy.histogram("amount", BigDecimal.ZERO)))
+                .build();
+        AggregationSpec zeroLimit = AggregationSpec.builder()
+                .groupBy(List.of(AggregationSpec.GroupBy.of("status")))
+                .limit(0)
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderRepository.aggregate(SearchParams.empty(), zeroInterval))
+                .isInstanceOf(InvalidFilterCriteriaException.class)
+                .hasMessageContaining("Histogram interval must be positive");
+        assertThatThrownBy(() -> orderRepository.aggregate(SearchParams.empty(), zeroLimit))
+                .isInstanceOf(InvalidFilterCriteriaException.class)
+                .hasMessageContaining("Limit must be positive");
+    }
+
+    @Test
+    void findAllFields_ShouldReturnOnlyRequestedFieldsAndId() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "COMPLETED"))
+                .fields(List.of("orderNumber", "createdAt"))
+                .sort(List.of(SortOrder.desc("amount")))
+                .build();
+
+        // Act
+        Page<Map<String, Object>> result = orderRepository.findAllFields(params);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(row -> row.get("orderNumber")).containsExactly("ORD003", "ORD001");
+        assertThat(result.getContent()).allSatisfy(row -> {
+            assertThat(row).containsOnlyKeys("id", "orderNumber", "createdAt");
+            assertThat(row.get("createdAt")).isInstanceOf(LocalDateTime.class);
+        });
+    }
+
+    @Test
+    void count_ExceedingTimeout_ShouldThrowSearchTimeoutException() {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO orders (order_number, amount, status, created_at)"
+                + " SELECT 'BULK' || n, n, 'PENDING', now() FROM generate_series(1, 200000) n");
+        SearchParams params = SearchParams.criteria(FilterCriteria.like("orderNumber", "missing"))
+                .timeout(Duration.ofMillis(1))
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderRepository.count(params))
+                .isInstanceOf(SearchTimeoutException.class)
+                .hasMessageContaining("1 ms");
+    }
+
+    @Test
+    void findAll_WithinTimeout_ShouldRestoreStatementTimeoutOfTransaction() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        // Act
+        Page<TestOrder> result = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SHOW statement_timeout", String.class)).isEqualTo("0");
+    }
+
+    @Test
+    void findAll_FailingWithinTimeout_ShouldRestoreStatementTimeoutOfTransaction() {
+        // Arrange: a failure that is not raised by the database leaves the transaction usable
+        FilterableFragmentImpl<TestOrder, Long> failingRepository =
+                new FilterableFragmentImpl<>(fragmentContext, TestOrder.class) {
+                    @Override
+                    protected Pageable createPageable(SearchParams params) {
+                        throw new IncorrectResultSizeDataAccessException(1, 0);
+                    }
+                };
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> failingRepository.findAll(params))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT current_setting('statement_timeout')", String.class))
+                .isEqualTo("0");
+    }
+
+    @Test
+    void findAll_WithStringValues_ShouldConvertToPropertyTypes() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(
+                        FilterCriteria.gte("amount", "300"),
+                        FilterCriteria.lt("createdAt", "2024-01-05T00:00:00+02:00"))
+                .build();
+
+        // Act
+        Page<TestOrder> result = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent()).extracting(TestOrder::getOrderNumber).containsOnly("ORD003", "ORD004");
+    }
+
+    @Test
+    void findAll_WithUnparsableValue_ShouldThrowTypeConversionException() {
+        // Arrange
+        SearchParams params =
+                SearchParams.criteria(FilterCriteria.gt("amount", "a lot")).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderRepository.findAll(params))
+                .isInstanceOf(TypeConversionException.class)
+                .hasMessageContaining("BigDecimal");
+    }
 }
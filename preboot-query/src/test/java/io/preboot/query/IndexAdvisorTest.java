@@ -0,0 +1,67 @@
+package io.preboot.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.preboot.query.config.TestContainersConfig;
+import io.preboot.query.testdata.TestOrderRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "preboot.query.index-advisor.enabled=true")
+@Import(TestContainersConfig.class)
+@Transactional
+@Sql("/test-data.sql")
+class IndexAdvisorTest {
+
+    @Autowired
+    private TestOrderRepository orderRepository;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearShapes() {
+        indexAdvisor.clear();
+    }
+
+    @Test
+    void getSuggestions_ShouldSuggestCompositeIndexUntilItExists() {
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "COMPLETED"))
+                .sort(List.of(SortOrder.desc("amount")))
+                .build();
+        orderRepository.findAll(params);
+        orderRepository.findAll(params);
+
+        List<IndexAdvisor.IndexSuggestion> suggestions = indexAdvisor.getSuggestions();
+        assertThat(suggestions)
+                .anySatisfy(suggestion -> {
+                    assertThat(suggestion.ddl()).isEqualTo("CREATE INDEX ON \"orders\" (\"status\", \"amount\" DESC)");
+                    assertThat(suggestion.queries()).isEqualTo(2);
+                });
+
+        jdbcTemplate.execute("CREATE INDEX orders_status_amount_idx ON orders (status, amount DESC)");
+
+        assertThat(indexAdvisor.getSuggestions())
+                .noneMatch(suggestion -> suggestion.ddl().contains("\"status\""));
+    }
+
+    @Test
+    void getSuggestions_ShouldSuggestTrigramIndexForSimilaritySearch() {
+        orderRepository.count(SearchParams.criteria(FilterCriteria.like("orderNumber", "ORD"))
+                .build());
+
+        assertThat(indexAdvisor.getSuggestions())
+                .extracting(IndexAdvisor.IndexSuggestion::ddl)
+                .contains("CREATE INDEX ON \"orders\" USING gin (\"order_number\" gin_trgm_ops)");
+    }
+}
@@ -149,4 +149,72 @@ class NestedFilterableRepositoryIntegrationTest {
         // Assert
         assertThat(count).isEqualTo(2); // Orders with items total price > 300
     }
+
+    @Test
+    void findAll_WithOrGroupOnOrderItems_ShouldReturnEachOrderOnce() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.or(List.of(
+                        FilterCriteria.eq("orderItems.productCode", "PROD-A"),
+                        FilterCriteria.eq("orderItems.productCode", "PROD-B"))))
+                .build();
+
+        // Act
+        Page<TestOrder> result = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent())
+                .extracting(TestOrder::getOrderNumber)
+                .containsExactlyInAnyOrder("ORD001", "ORD003", "ORD004");
+    }
+
+    @Test
+    void count_WithItemCriteriaOnDifferentItems_ShouldRequireSingleMatchingItem() {
+        // Arrange: order ORD001 has a PROD-B item and an item with quantity 2, but not both on one item
+        SearchParams params = SearchParams.criteria(
+                        FilterCriteria.eq("orderItems.productCode", "PROD-B"),
+                        FilterCriteria.eq("orderItems.quantity", 2))
+                .build();
+
+        // Act
+        long count = orderRepository.count(params);
+
+        // Assert
+        assertThat(count).isZero();
+    }
+
+    @Test
+    void findAll_WithNestedOrGroupOnOrderItems_ShouldMatchBothGroupsOnOneItem() {
+        // Arrange: ORD001 has a PROD-A item and an item with quantity 1, but not both on one item
+        SearchParams params = SearchParams.criteria(
+                        FilterCriteria.eq("orderItems.productCode", "PROD-A"),
+                        FilterCriteria.or(List.of(
+                                FilterCriteria.eq("orderItems.quantity", 1),
+                                FilterCriteria.eq("orderItems.quantity", 3))))
+                .build();
+
+        // Act
+        Page<TestOrder> result = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD003");
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void findAll_WithNestedGroupMixingOrderAndItemFields_ShouldMatchItemPartsSeparately() {
+        // Arrange: a group that also filters the order keeps its own EXISTS for the item part
+        SearchParams params = SearchParams.criteria(
+                        FilterCriteria.eq("orderItems.productCode", "PROD-A"),
+                        FilterCriteria.or(List.of(
+                                FilterCriteria.eq("orderItems.quantity", 1),
+                                FilterCriteria.eq("status", "CANCELLED"))))
+                .build();
+
+        // Act
+        Page<TestOrder> result = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(result.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD001");
+    }
 }
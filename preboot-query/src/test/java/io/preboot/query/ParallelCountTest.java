@@ -0,0 +1,97 @@
+package io.preboot.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import io.preboot.query.config.TestContainersConfig;
+import io.preboot.query.testdata.TestOrder;
+import io.preboot.query.testdata.TestOrderRepository;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+// Not transactional: the parallel count runs on its own connection and only sees committed rows
+@SpringBootTest(properties = "preboot.query.parallel-count=true")
+@Import(TestContainersConfig.class)
+@Sql("/test-data.sql")
+@Sql(
+        statements = "TRUNCATE order_items, orders RESTART IDENTITY",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ParallelCountTest {
+
+    @Autowired
+    private TestOrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private SqlBuilder sqlBuilder;
+
+    @Test
+    void findAll_WithParallelCount_ShouldMatchSequentialCount() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .size(1)
+                .build();
+
+        // Act
+        Page<TestOrder> page = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(page.getContent()).extracting(TestOrder::getOrderNumber).containsExactly("ORD002");
+        assertThat(page.getTotalElements()).isEqualTo(orderRepository.count(params)).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void findAll_InReadWriteTransaction_ShouldCountUncommittedRows() {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO orders (order_number, amount, status, created_at)"
+                + " VALUES ('ORD006', 600.00, 'PENDING', now())");
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .size(1)
+                .build();
+
+        // Act
+        Page<TestOrder> page = orderRepository.findAll(params);
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void findAll_WhenParallelCountFails_ShouldPropagateItsOriginalException() {
+        // Arrange: only the count SQL fails, and it records the thread it was built on
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+                    countThread.set(Thread.currentThread());
+                    return "SELECT 1 / 0";
+                })
+                .when(sqlBuilder)
+                .buildCountSql(any(), any());
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .size(1)
+                .build();
+
+        // Act & Assert: a failing page query would have been thrown instead of the count's error
+        assertThatThrownBy(() -> orderRepository.findAll(params))
+                .isInstanceOf(DataAccessException.class)
+                .isNotInstanceOf(CompletionException.class)
+                .hasMessageContaining("division by zero");
+        verify(sqlBuilder).buildSelectSql(any(), any(), any());
+        assertThat(countThread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+    }
+}
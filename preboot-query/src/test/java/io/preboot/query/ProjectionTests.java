@@ -4,15 +4,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.preboot.query.config.TestContainersConfig;
 import io.preboot.query.testdata.TestOrderRepository;
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +33,10 @@ class ProjectionTests {
         String getOrderNumber();
     }
 
+    public interface StatusOnly {
+        String getStatus();
+    }
+
     // Projection with SpEL expressions
     public interface OrderWithStatus {
         Long getId();
@@ -65,6 +72,40 @@ class ProjectionTests {
         List<OrderItemProjection> getOrderItems();
     }
 
+    @InlineCollections
+    public interface OrderWithInlineItems {
+        String getOrderNumber();
+
+        @Value("#{target.orderItems}")
+        List<OrderItemProjection> getOrderItems();
+    }
+
+    @GeneratedProjection
+    public interface GeneratedOrderRow {
+        long getId();
+
+        String getOrderNumber();
+
+        BigDecimal getAmount();
+    }
+
+    public interface OrderNumberWithStaticGetter {
+        String getOrderNumber();
+
+        static String getDefaultOrderNumber() {
+            return "NONE";
+        }
+    }
+
+    @GeneratedProjection
+    public interface GeneratedOrderNumberWithFactory {
+        String getOrderNumber();
+
+        static String label(GeneratedOrderNumberWithFactory row) {
+            return "Order " + row.getOrderNumber();
+        }
+    }
+
     @Test
     void findOne_WithSimpleProjection_ShouldWork() {
         // Arrange
@@ -155,4 +196,127 @@ class ProjectionTests {
             assertThat(order.getValueCategory()).isIn("Standard", "High Value");
         });
     }
+
+    @Test
+    void findAll_WithoutToManyJoins_ShouldKeepRowsWithEqualProjectedValues() {
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "COMPLETED"))
+                .sortField(null)
+                .build();
+
+        Page<StatusOnly> result = orderRepository.findAllProjectedBy(params, StatusOnly.class);
+
+        // Without collection joins no DISTINCT is applied, so both completed orders are returned
+        assertThat(result.getContent()).hasSize(2).allMatch(order -> "COMPLETED".equals(order.getStatus()));
+    }
+
+    @Test
+    void findAll_WithCollectionProjection_ShouldAttachItemsToEachOrder() {
+        SearchParams params = SearchParams.builder().size(10).build();
+
+        Page<OrderWithItems> result = orderRepository.findAllProjectedBy(params, OrderWithItems.class);
+
+        assertThat(result.getContent()).hasSize(5);
+        assertThat(result.getContent())
+                .extracting(order -> order.getOrderItems().stream()
+                        .map(OrderItemProjection::getProductCode)
+                        .toList())
+                .containsExactly(
+                        List.of("PROD-A", "PROD-B"),
+                        List.of("PROD-C"),
+                        List.of("PROD-A"),
+                        List.of("PROD-B"),
+                        List.of("PROD-C"));
+    }
+
+    @Test
+    void findAllAsStream_WithCollectionProjection_ShouldAttachItemsToEachOrder() {
+        SearchParams params = SearchParams.empty();
+
+        try (Stream<OrderWithItems> stream =
+                orderRepository.findAllProjectedByAsStream(params, OrderWithItems.class)) {
+            List<OrderWithItems> orders = stream.toList();
+
+            assertThat(orders).hasSize(5);
+            assertThat(orders.get(0).getOrderItems())
+                    .extracting(OrderItemProjection::getQuantity)
+                    .containsExactly(2, 1);
+            assertThat(orders.get(4).getOrderItems())
+                    .extracting(OrderItemProjection::getTotalPrice)
+                    .containsExactly(new BigDecimal("500.00"));
+        }
+    }
+
+    @Test
+    void findAll_WithInlineCollectionProjection_ShouldDecodeAggregatedItems() {
+        SearchParams params = SearchParams.builder()
+                .size(2)
+                .sortField("amount")
+                .sortDirection(Sort.Direction.DESC)
+                .build();
+
+        Page<OrderWithInlineItems> result = orderRepository.findAllProjectedBy(params, OrderWithInlineItems.class);
+
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent())
+                .extracting(OrderWithInlineItems::getOrderNumber)
+                .containsExactly("ORD005", "ORD004");
+        OrderItemProjection item = result.getContent().get(0).getOrderItems().get(0);
+        assertThat(item.getProductCode()).isEqualTo("PROD-C");
+        assertThat(item.getQuantity()).isEqualTo(5);
+        assertThat(item.getTotalPrice()).isEqualByComparingTo("500.00");
+        assertThat(result.getContent().get(1).getOrderItems())
+                .extracting(OrderItemProjection::getProductCode)
+                .containsExactly("PROD-B");
+    }
+
+    @Test
+    void findAllAsStream_WithGeneratedProjection_ShouldReadPlainInstances() {
+        SearchParams params = SearchParams.empty();
+
+        try (Stream<GeneratedOrderRow> stream =
+                orderRepository.findAllProjectedByAsStream(params, GeneratedOrderRow.class)) {
+            List<GeneratedOrderRow> orders = stream.toList();
+
+            assertThat(orders).hasSize(5);
+            assertThat(orders.get(0)).isNotInstanceOf(Proxy.class);
+            assertThat(orders.get(0).getId()).isPositive();
+            assertThat(orders.get(0).getOrderNumber()).isEqualTo("ORD001");
+            assertThat(orders.get(0).getAmount()).isEqualByComparingTo("100.00");
+        }
+    }
+
+    @Test
+    void findAll_WithGeneratedProjection_ShouldPage() {
+        SearchParams params = SearchParams.builder()
+                .size(2)
+                .sortField("amount")
+                .sortDirection(Sort.Direction.DESC)
+                .build();
+
+        Page<GeneratedOrderRow> result = orderRepository.findAllProjectedBy(params, GeneratedOrderRow.class);
+
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent())
+                .extracting(GeneratedOrderRow::getOrderNumber)
+                .containsExactly("ORD005", "ORD004");
+    }
+
+    @Test
+    void findAll_WithStaticMethodsOnProjection_ShouldIgnoreThem() {
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("orderNumber", "ORD001"))
+                .sortField("orderNumber")
+                .build();
+
+        Page<OrderNumberWithStaticGetter> proxied =
+                orderRepository.findAllProjectedBy(params, OrderNumberWithStaticGetter.class);
+        Page<GeneratedOrderNumberWithFactory> generated =
+                orderRepository.findAllProjectedBy(params, GeneratedOrderNumberWithFactory.class);
+
+        assertThat(proxied.getContent())
+                .extracting(OrderNumberWithStaticGetter::getOrderNumber)
+                .containsExactly("ORD001");
+        assertThat(generated.getContent())
+                .extracting(GeneratedOrderNumberWithFactory::label)
+                .containsExactly("Order ORD001");
+    }
 }
@@ -0,0 +1,110 @@
+package io.preboot.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.preboot.query.config.TestContainersConfig;
+import io.preboot.query.testdata.CachedCategory;
+import io.preboot.query.testdata.CachedCategoryRepository;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@Transactional
+@Sql("/aggregate-reference-test.sql")
+class QueryResultCacheTest {
+
+    @Autowired
+    private CachedCategoryRepository categoryRepository;
+
+    @Autowired
+    private QueryResultCacheRegistry cacheRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearCache() {
+        cacheRegistry.invalidate(CachedCategory.class, null);
+    }
+
+    @Test
+    void findAll_InReadWriteTransaction_ShouldNotCacheResults() {
+        SearchParams params = SearchParams.criteria(FilterCriteria.like("name", "B")).build();
+        assertThat(categoryRepository.findAll(params).getTotalElements()).isEqualTo(1);
+
+        // Rows read by this transaction may not be committed yet, so they are not cached for other callers
+        jdbcTemplate.update("INSERT INTO categories (uuid, name) VALUES (?, 'Board games')", UUID.randomUUID());
+        long hits = stats().hits();
+        assertThat(categoryRepository
+                        .findAll(SearchParams.criteria(FilterCriteria.like("name", "B")).build())
+                        .getTotalElements())
+                .isEqualTo(2);
+        assertThat(stats().hits()).isEqualTo(hits);
+
+        CachedCategory category = new CachedCategory();
+        category.setUuid(UUID.randomUUID());
+        category.setName("Bikes");
+        categoryRepository.save(category);
+
+        assertThat(categoryRepository.findAll(params).getTotalElements()).isEqualTo(3);
+        assertThat(categoryRepository.count(params)).isEqualTo(3);
+    }
+
+    @Test
+    void get_OutsideTransaction_ShouldServeCachedResultUntilInvalidated() {
+        QueryResultCache cache = new QueryResultCache(10, 60);
+
+        List<Integer> results = withoutTransaction(() -> List.of(
+                cache.get("tenant-a", "query", () -> 1),
+                cache.get("tenant-a", "query", () -> 2),
+                cache.get("tenant-b", "query", () -> 3)));
+        cache.invalidate("tenant-b");
+        List<Integer> afterInvalidation = withoutTransaction(() -> List.of(
+                cache.get("tenant-a", "query", () -> 4), cache.get("tenant-b", "query", () -> 5)));
+
+        assertThat(results).containsExactly(1, 1, 3);
+        assertThat(afterInvalidation).containsExactly(1, 5);
+    }
+
+    @Test
+    void get_WhenInvalidatedWhileLoading_ShouldNotCacheStaleResult() {
+        QueryResultCache cache = new QueryResultCache(10, 60);
+
+        Integer loaded = withoutTransaction(() -> cache.get("tenant-a", "query", () -> {
+            // A write of the scope commits while the search is running
+            cache.invalidate("tenant-a");
+            return 1;
+        }));
+        Integer reloaded = withoutTransaction(() -> cache.get("tenant-a", "query", () -> 2));
+
+        assertThat(loaded).isEqualTo(1);
+        assertThat(reloaded).isEqualTo(2);
+    }
+
+    // The test transaction is read-write, so results are only cached outside of it
+    private <R> R withoutTransaction(Supplier<R> action) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        return transaction.execute(status -> action.get());
+    }
+
+    private QueryResultCache.Stats stats() {
+        return cacheRegistry.getStats().get(CachedCategory.class.getName());
+    }
+}
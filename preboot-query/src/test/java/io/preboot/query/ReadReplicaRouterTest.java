@@ -0,0 +1,66 @@
+package io.preboot.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.preboot.query.config.TestContainersConfig;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+class ReadReplicaRouterTest {
+
+    // The test database stands in for the replica
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadReplicaRouter configuredRouter;
+
+    @Test
+    void route_WithoutReplicaDataSource_ShouldUsePrimary() {
+        assertThat(configuredRouter.isConfigured()).isFalse();
+        assertThat(configuredRouter.route(null)).isNull();
+    }
+
+    @Test
+    void route_OutsideTransaction_ShouldUseReplica() {
+        ReadReplicaRouter router = new ReadReplicaRouter(dataSource, 0, 0, 1000);
+
+        assertThat(router.route(null)).isNotNull();
+    }
+
+    @Test
+    void route_InTransaction_ShouldUsePrimary() {
+        ReadReplicaRouter router = new ReadReplicaRouter(dataSource, 0, 0, 1000);
+
+        Object routed = new TransactionTemplate(transactionManager).execute(status -> router.route(null));
+
+        assertThat(routed).isNull();
+    }
+
+    @Test
+    void route_AfterWrite_ShouldUsePrimaryForWritingScopeOnly() {
+        ReadReplicaRouter router = new ReadReplicaRouter(dataSource, 60_000, 0, 1000);
+
+        router.recordWrite(() -> "tenant-a");
+
+        assertThat(router.route("tenant-a")).isNull();
+        assertThat(router.route("tenant-b")).isNotNull();
+    }
+
+    @Test
+    void route_WithMaxLag_ShouldUseReplicaThatIsNotBehind() {
+        ReadReplicaRouter router = new ReadReplicaRouter(dataSource, 0, 1000, 1000);
+
+        assertThat(router.route(null)).isNotNull();
+    }
+}
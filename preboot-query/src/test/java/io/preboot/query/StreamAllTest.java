@@ -0,0 +1,66 @@
+package io.preboot.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.preboot.query.config.TestContainersConfig;
+import io.preboot.query.testdata.TestOrder;
+import io.preboot.query.testdata.TestOrderRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Not transactional: streamAll has to open the read-only transaction a cursor needs itself
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@Sql("/test-data.sql")
+@Sql(
+        statements = "TRUNCATE order_items, orders RESTART IDENTITY",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class StreamAllTest {
+
+    @Autowired
+    private TestOrderRepository orderRepository;
+
+    public interface OrderNumberOnly {
+        String getOrderNumber();
+    }
+
+    @Test
+    void streamAll_WithFetchSizeOutsideTransaction_ShouldStreamInReadOnlyTransaction() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .sortField("orderNumber")
+                .fetchSize(1)
+                .build();
+
+        // Act
+        List<String> orderNumbers = orderRepository.streamAll(params, rows -> {
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+            return rows.map(TestOrder::getOrderNumber).toList();
+        });
+
+        // Assert
+        assertThat(orderNumbers).containsExactly("ORD002", "ORD005");
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+    }
+
+    @Test
+    void streamAllProjectedBy_WithFetchSizeOutsideTransaction_ShouldStreamProjections() {
+        // Arrange
+        SearchParams params = SearchParams.criteria(FilterCriteria.eq("status", "PENDING"))
+                .sortField("orderNumber")
+                .fetchSize(1)
+                .build();
+
+        // Act
+        List<String> orderNumbers = orderRepository.streamAllProjectedBy(
+                params, OrderNumberOnly.class, rows -> rows.map(OrderNumberOnly::getOrderNumber).toList());
+
+        // Assert
+        assertThat(orderNumbers).containsExactly("ORD002", "ORD005");
+    }
+}
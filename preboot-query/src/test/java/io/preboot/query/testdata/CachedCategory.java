@@ -0,0 +1,19 @@
+package io.preboot.query.testdata;
+
+import io.preboot.query.CachedQueries;
+import java.util.UUID;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Table("categories")
+@CachedQueries(maxSize = 10, ttlSeconds = 300)
+public class CachedCategory {
+    @Id
+    private Long id;
+
+    private UUID uuid;
+    private String name;
+    private String description;
+}
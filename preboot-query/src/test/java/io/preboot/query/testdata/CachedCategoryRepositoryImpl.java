@@ -0,0 +1,12 @@
+package io.preboot.query.testdata;
+
+import io.preboot.query.FilterableFragmentContext;
+import io.preboot.query.FilterableFragmentImpl;
+import org.springframework.stereotype.Repository;
+
+@Repository
+class CachedCategoryRepositoryImpl extends FilterableFragmentImpl<CachedCategory, Long> {
+    public CachedCategoryRepositoryImpl(FilterableFragmentContext context) {
+        super(context, CachedCategory.class);
+    }
+}
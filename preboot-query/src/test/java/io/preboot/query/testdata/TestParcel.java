@@ -0,0 +1,20 @@
+package io.preboot.query.testdata;
+
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.MappedCollection;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Table("parcels")
+public class TestParcel {
+    @Id
+    private Long id;
+
+    private String label;
+
+    @MappedCollection(idColumn = "parcel_id")
+    private Set<TestParcelItem> items = new HashSet<>();
+}
@@ -0,0 +1,14 @@
+package io.preboot.query.testdata;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Table("parcel_items")
+public class TestParcelItem {
+    @Id
+    private Long id;
+
+    private String description;
+}
@@ -0,0 +1,12 @@
+package io.preboot.query.testdata;
+
+import io.preboot.query.FilterableFragmentContext;
+import io.preboot.query.FilterableFragmentImpl;
+import org.springframework.stereotype.Repository;
+
+@Repository
+class TestShipmentRepositoryImpl extends FilterableFragmentImpl<TestShipment, Long> {
+    public TestShipmentRepositoryImpl(FilterableFragmentContext context) {
+        super(context, TestShipment.class);
+    }
+}
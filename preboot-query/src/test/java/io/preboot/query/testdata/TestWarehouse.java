@@ -0,0 +1,22 @@
+package io.preboot.query.testdata;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.MappedCollection;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Table("warehouses")
+public class TestWarehouse {
+    @Id
+    @Column("warehouse_id")
+    private Long id;
+
+    private String name;
+
+    @MappedCollection(idColumn = "warehouse_id", keyColumn = "bin_index")
+    private List<TestWarehouseBin> bins = new ArrayList<>();
+}
@@ -0,0 +1,10 @@
+package io.preboot.query.testdata;
+
+import lombok.Data;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Table("warehouse_bins")
+public class TestWarehouseBin {
+    private String code;
+}
@@ -0,0 +1,5 @@
+package io.preboot.query.testdata;
+
+import io.preboot.query.FilterableRepository;
+
+public interface TestWarehouseRepository extends FilterableRepository<TestWarehouse, Long> {}
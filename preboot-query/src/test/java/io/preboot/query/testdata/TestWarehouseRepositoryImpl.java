@@ -0,0 +1,12 @@
+package io.preboot.query.testdata;
+
+import io.preboot.query.FilterableFragmentContext;
+import io.preboot.query.FilterableFragmentImpl;
+import org.springframework.stereotype.Repository;
+
+@Repository
+class TestWarehouseRepositoryImpl extends FilterableFragmentImpl<TestWarehouse, Long> {
+    public TestWarehouseRepositoryImpl(FilterableFragmentContext context) {
+        super(context, TestWarehouse.class);
+    }
+}
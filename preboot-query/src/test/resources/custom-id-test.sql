@@ -0,0 +1,21 @@
+CREATE TABLE warehouses (
+                            warehouse_id BIGSERIAL PRIMARY KEY,
+                            name VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE warehouse_bins (
+                                warehouse_id BIGINT NOT NULL,
+                                bin_index INTEGER NOT NULL,
+                                code VARCHAR(20) NOT NULL,
+                                PRIMARY KEY (warehouse_id, bin_index),
+                                FOREIGN KEY (warehouse_id) REFERENCES warehouses(warehouse_id)
+);
+
+INSERT INTO warehouses (warehouse_id, name) VALUES
+                                                (1, 'North'),
+                                                (2, 'South');
+
+INSERT INTO warehouse_bins (warehouse_id, bin_index, code) VALUES
+                                                               (1, 1, 'N-B'),
+                                                               (1, 0, 'N-A'),
+                                                               (2, 0, 'S-A');
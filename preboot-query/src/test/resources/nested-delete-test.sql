@@ -0,0 +1,32 @@
+CREATE TABLE shipments (
+                           id BIGSERIAL PRIMARY KEY,
+                           shipment_number VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE parcels (
+                         id BIGSERIAL PRIMARY KEY,
+                         shipment_id BIGINT NOT NULL,
+                         label VARCHAR(50) NOT NULL,
+                         FOREIGN KEY (shipment_id) REFERENCES shipments(id)
+);
+
+CREATE TABLE parcel_items (
+                              id BIGSERIAL PRIMARY KEY,
+                              parcel_id BIGINT NOT NULL,
+                              description VARCHAR(255) NOT NULL,
+                              FOREIGN KEY (parcel_id) REFERENCES parcels(id)
+);
+
+INSERT INTO shipments (id, shipment_number) VALUES
+                                                (1, 'SHP001'),
+                                                (2, 'SHP002');
+
+INSERT INTO parcels (id, shipment_id, label) VALUES
+                                                 (1, 1, 'Box A'),
+                                                 (2, 1, 'Box B'),
+                                                 (3, 2, 'Box C');
+
+INSERT INTO parcel_items (parcel_id, description) VALUES
+                                                      (1, 'Books'),
+                                                      (2, 'Lamp'),
+                                                      (3, 'Chair');
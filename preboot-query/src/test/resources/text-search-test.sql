@@ -0,0 +1,2 @@
+-- similar filters use the pg_trgm % operator and similarity()
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,51 @@
+package io.preboot.securedata.event;
+
+import io.preboot.eventbus.EventHandler;
+import io.preboot.query.QueryResultCacheRegistry;
+import io.preboot.securedata.metadata.SecureEntityMetadataCache;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached search results of the tenant of every entity written through a secure repository, including writes of
+ * repositories that do not share the query result cache of the aggregate. Bulk writes drop all results of the
+ * aggregate, as the tenants of the affected rows are not known.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryResultCacheInvalidator {
+    private final QueryResultCacheRegistry resultCacheRegistry;
+    private final SecureEntityMetadataCache metadataCache;
+
+    @EventHandler
+    public void onCreate(SecureRepositoryEvent.AfterCreateEvent<?> event) {
+        invalidate(event.getEntity());
+    }
+
+    @EventHandler
+    public void onUpdate(SecureRepositoryEvent.AfterUpdateEvent<?> event) {
+        invalidate(event.getEntity());
+    }
+
+    @EventHandler
+    public void onDelete(SecureRepositoryEvent.AfterDeleteEvent<?> event) {
+        invalidate(event.getEntity());
+    }
+
+    @EventHandler
+    public void onBulkUpdate(SecureRepositoryBulkEvent.AfterBulkUpdateEvent<?> event) {
+        resultCacheRegistry.invalidate(event.getEntityType(), null);
+    }
+
+    @EventHandler
+    public void onBulkDelete(SecureRepositoryBulkEvent.AfterBulkDeleteEvent<?> event) {
+        resultCacheRegistry.invalidate(event.getEntityType(), null);
+    }
+
+    private void invalidate(Object entity) {
+        UUID tenantId = metadataCache.get(entity.getClass()).getTenantId(entity);
+        resultCacheRegistry.invalidate(entity.getClass(), Objects.toString(tenantId, null));
+    }
+}
@@ -0,0 +1,113 @@
+package io.preboot.securedata.event;
+
+import io.preboot.query.SearchParams;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Published around set-based updates and deletes of secure repositories, which never load the affected entities. The
+ * search parameters already include the tenant constraint.
+ */
+public sealed interface SecureRepositoryBulkEvent<T> {
+    Class<T> getEntityType();
+
+    SearchParams getParams();
+
+    LocalDateTime getTimestamp();
+
+    record BeforeBulkUpdateEvent<T>(
+            Class<T> entityType, SearchParams params, Map<String, Object> values, LocalDateTime timestamp)
+            implements SecureRepositoryBulkEvent<T> {
+        public BeforeBulkUpdateEvent(Class<T> entityType, SearchParams params, Map<String, Object> values) {
+            this(entityType, params, values, LocalDateTime.now());
+        }
+
+        @Override
+        public Class<T> getEntityType() {
+            return entityType;
+        }
+
+        @Override
+        public SearchParams getParams() {
+            return params;
+        }
+
+        @Override
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    record AfterBulkUpdateEvent<T>(
+            Class<T> entityType,
+            SearchParams params,
+            Map<String, Object> values,
+            long affectedRows,
+            LocalDateTime timestamp)
+            implements SecureRepositoryBulkEvent<T> {
+        public AfterBulkUpdateEvent(
+                Class<T> entityType, SearchParams params, Map<String, Object> values, long affectedRows) {
+            this(entityType, params, values, affectedRows, LocalDateTime.now());
+        }
+
+        @Override
+        public Class<T> getEntityType() {
+            return entityType;
+        }
+
+        @Override
+        public SearchParams getParams() {
+            return params;
+        }
+
+        @Override
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    record BeforeBulkDeleteEvent<T>(Class<T> entityType, SearchParams params, LocalDateTime timestamp)
+            implements SecureRepositoryBulkEvent<T> {
+        public BeforeBulkDeleteEvent(Class<T> entityType, SearchParams params) {
+            this(entityType, params, LocalDateTime.now());
+        }
+
+        @Override
+        public Class<T> getEntityType() {
+            return entityType;
+        }
+
+        @Override
+        public SearchParams getParams() {
+            return params;
+        }
+
+        @Override
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    record AfterBulkDeleteEvent<T>(
+            Class<T> entityType, SearchParams params, long affectedRows, LocalDateTime timestamp)
+            implements SecureRepositoryBulkEvent<T> {
+        public AfterBulkDeleteEvent(Class<T> entityType, SearchParams params, long affectedRows) {
+            this(entityType, params, affectedRows, LocalDateTime.now());
+        }
+
+        @Override
+        public Class<T> getEntityType() {
+            return entityType;
+        }
+
+        @Override
+        public SearchParams getParams() {
+            return params;
+        }
+
+        @Override
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.lang.reflect.Field;
 import java.time.Instant;
 import java.util.UUID;
 import lombok.Getter;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.util.ReflectionUtils;
 
 @Getter
@@ -17,6 +18,7 @@ public class SecureEntityMetadata<T> {
     private final Field createdAtField;
     private final Field modifiedByField;
     private final Field modifiedAtField;
+    private final Field versionField;
     private final AccessRule[] readRules;
     private final AccessRule[] writeRules;
 
@@ -31,6 +33,7 @@ public class SecureEntityMetadata<T> {
         this.createdAtField = findAnnotatedField(entityType, CreatedAt.class);
         this.modifiedByField = findAnnotatedField(entityType, ModifiedBy.class);
         this.modifiedAtField = findAnnotatedField(entityType, ModifiedAt.class);
+        this.versionField = findAnnotatedField(entityType, Version.class);
 
         SecureAccess secureAccess = entityType.getAnnotation(SecureAccess.class);
         this.readRules = secureAccess != null ? secureAccess.read() : new AccessRule[0];
@@ -69,6 +72,21 @@ public class SecureEntityMetadata<T> {
         return hasTenantField() && tenantField.getAnnotation(Tenant.class).required();
     }
 
+    /** Tenant of the entity, or {@code null} when it has no tenant field or the field is not set. */
+    public UUID getTenantId(Object entity) {
+        if (!hasTenantField()) {
+            return null;
+        }
+        try {
+            tenantField.setAccessible(true);
+            UUID tenantId = (UUID) tenantField.get(entity);
+            tenantField.setAccessible(false);
+            return tenantId;
+        } catch (IllegalAccessException e) {
+            throw new SecureDataException("Failed to read tenant ID", e);
+        }
+    }
+
     public boolean hasCreatedByField() {
         return createdByField != null;
     }
@@ -84,4 +102,8 @@ public class SecureEntityMetadata<T> {
     public boolean hasModifiedAtField() {
         return modifiedAtField != null;
     }
+
+    public boolean hasVersionField() {
+        return versionField != null;
+    }
 }
@@ -1,6 +1,8 @@
 package io.preboot.securedata.repository;
 
 import io.preboot.eventbus.EventPublisher;
+import io.preboot.query.AggregationRow;
+import io.preboot.query.AggregationSpec;
 import io.preboot.query.FilterCriteria;
 import io.preboot.query.FilterableUuidFragmentImpl;
 import io.preboot.query.HasUuid;
@@ -8,6 +10,7 @@ import io.preboot.query.SearchParams;
 import io.preboot.securedata.annotation.AccessRule;
 import io.preboot.securedata.context.SecurityContext;
 import io.preboot.securedata.context.SecurityContextProvider;
+import io.preboot.securedata.event.SecureRepositoryBulkEvent;
 import io.preboot.securedata.event.SecureRepositoryEvent;
 import io.preboot.securedata.exception.SecureDataException;
 import io.preboot.securedata.metadata.SecureEntityMetadata;
@@ -15,7 +18,8 @@ import io.preboot.securedata.metadata.SecureEntityMetadataCache;
 import java.lang.reflect.Field;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.IdentityHashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -50,6 +54,18 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
         return super.findAll(secureParams);
     }
 
+    @Override
+    public Page<Map<String, Object>> findAllFields(SearchParams params) {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (!metadata.isEnabled()) {
+            return super.findAllFields(params);
+        }
+
+        validateReadAccess(metadata);
+        SearchParams secureParams = addSecurityConstraints(params, metadata);
+        return super.findAllFields(secureParams);
+    }
+
     @Override
     public Optional<T> findOne(SearchParams params) {
         SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
@@ -74,6 +90,50 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
         return super.count(secureParams);
     }
 
+    @Override
+    public boolean exists(SearchParams params) {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (!metadata.isEnabled()) {
+            return super.exists(params);
+        }
+
+        validateReadAccess(metadata);
+        SearchParams secureParams = addSecurityConstraints(params, metadata);
+        return super.exists(secureParams);
+    }
+
+    @Override
+    public List<AggregationRow> aggregate(SearchParams params, AggregationSpec aggregation) {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (!metadata.isEnabled()) {
+            return super.aggregate(params, aggregation);
+        }
+
+        validateReadAccess(metadata);
+        SearchParams secureParams = addSecurityConstraints(params, metadata);
+        return super.aggregate(secureParams, aggregation);
+    }
+
+    @Override
+    protected String getResultCacheScope() {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (!metadata.isEnabled() || !metadata.requiresTenant()) {
+            return null;
+        }
+        return Objects.toString(securityContextProvider.getCurrentContext().getTenantId(), null);
+    }
+
+    @Override
+    protected String getResultCacheScope(T entity) {
+        return Objects.toString(metadataCache.get(getEntityType()).getTenantId(entity), null);
+    }
+
+    @Override
+    protected String getTenantPropertyName() {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        return metadata.isEnabled() && metadata.hasTenantField() ? metadata.getTenantField().getName() : null;
+    }
+
     // Implement CrudRepository methods with security
     @Override
     public <S extends T> S save(S entity) {
@@ -113,9 +173,8 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
             validateWriteAccess(metadata);
         }
 
-        Map<S, Boolean> entityStates =
-                new IdentityHashMap<>(); // IdentityHashMap is a specialized Map implementation that uses reference
-        // equality (==) instead of equals() when comparing keys.
+        List<S> toSave = new ArrayList<>();
+        List<Boolean> newStates = new ArrayList<>();
 
         for (S entity : entities) {
             if (metadata.isEnabled() && metadata.hasTenantField()) {
@@ -125,7 +184,8 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
             boolean isNew = isNewEntity(entity);
             populateAuditFields(entity, metadata, isNew);
 
-            entityStates.put(entity, isNew);
+            toSave.add(entity);
+            newStates.add(isNew);
 
             if (isNew) {
                 entity.setUuid(UUID.randomUUID());
@@ -135,13 +195,13 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
             }
         }
 
-        Iterable<S> savedEntities = super.saveAll(entities);
-
-        for (S savedEntity : savedEntities) {
-            boolean wasNew = entityStates.get(savedEntity);
+        // Saved in batches; the result keeps the order of the input
+        List<S> savedEntities = new ArrayList<>();
+        super.saveAll(toSave).forEach(savedEntities::add);
 
-            // Publish after event
-            if (wasNew) {
+        for (int i = 0; i < savedEntities.size(); i++) {
+            S savedEntity = savedEntities.get(i);
+            if (newStates.get(i)) {
                 eventPublisher.publish(new SecureRepositoryEvent.AfterCreateEvent<>(savedEntity));
             } else {
                 eventPublisher.publish(new SecureRepositoryEvent.AfterUpdateEvent<>(savedEntity));
@@ -188,7 +248,7 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
 
     @Override
     public boolean existsById(ID id) {
-        return findById(id).isPresent();
+        return existsInTenant(FilterCriteria.eq(getIdPropertyName(), id));
     }
 
     @Override
@@ -239,7 +299,7 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
 
     @Override
     public boolean existsByUuid(UUID uuid) {
-        return findByUuid(uuid).isPresent();
+        return existsInTenant(FilterCriteria.eq("uuid", uuid));
     }
 
     @Override
@@ -259,12 +319,81 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
 
     @Override
     public void deleteAllById(Iterable<? extends ID> ids) {
-        ids.forEach(this::deleteById);
+        // Ids of other tenants are skipped by findAllById, as deleteById skips them
+        List<ID> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        deleteAll(findAllById(idList));
     }
 
     @Override
     public void deleteAll(Iterable<? extends T> entities) {
-        entities.forEach(this::delete);
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (metadata.isEnabled()) {
+            validateWriteAccess(metadata);
+        }
+
+        List<T> toDelete = new ArrayList<>();
+        for (T entity : entities) {
+            if (metadata.isEnabled() && !validateTenantAccess(entity, metadata)) {
+                throw new SecureDataException("Access denied");
+            }
+            toDelete.add(entity);
+        }
+
+        toDelete.forEach(entity -> eventPublisher.publish(new SecureRepositoryEvent.BeforeDeleteEvent<>(entity)));
+        super.deleteAll(toDelete);
+        toDelete.forEach(entity -> eventPublisher.publish(new SecureRepositoryEvent.AfterDeleteEvent<>(entity)));
+    }
+
+    @Override
+    public long updateWhere(SearchParams params, Map<String, Object> values) {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (metadata.isEnabled()) {
+            validateWriteAccess(metadata);
+            if (metadata.hasTenantField() && values.containsKey(metadata.getTenantField().getName())) {
+                throw new SecureDataException("Tenant field cannot be updated");
+            }
+        }
+        // Creation audit fields keep their values, and the version is only changed by saving the entity
+        for (Field field : Arrays.asList(
+                metadata.getCreatedByField(), metadata.getCreatedAtField(), metadata.getVersionField())) {
+            if (field != null && values.containsKey(field.getName())) {
+                throw new SecureDataException("Field '" + field.getName() + "' cannot be updated");
+            }
+        }
+
+        Map<String, Object> auditedValues = new LinkedHashMap<>(values);
+        if (metadata.hasModifiedByField()) {
+            auditedValues.put(
+                    metadata.getModifiedByField().getName(),
+                    securityContextProvider.getCurrentContext().getUserId());
+        }
+        if (metadata.hasModifiedAtField()) {
+            auditedValues.put(metadata.getModifiedAtField().getName(), Instant.now());
+        }
+
+        SearchParams secureParams = restrictToTenant(params.getFilters(), metadata);
+        eventPublisher.publish(
+                new SecureRepositoryBulkEvent.BeforeBulkUpdateEvent<>(getEntityType(), secureParams, auditedValues));
+        long updated = super.updateWhere(secureParams, auditedValues);
+        eventPublisher.publish(new SecureRepositoryBulkEvent.AfterBulkUpdateEvent<>(
+                getEntityType(), secureParams, auditedValues, updated));
+        return updated;
+    }
+
+    @Override
+    public long deleteWhere(SearchParams params) {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (metadata.isEnabled()) {
+            validateWriteAccess(metadata);
+        }
+
+        SearchParams secureParams = restrictToTenant(params.getFilters(), metadata);
+        eventPublisher.publish(new SecureRepositoryBulkEvent.BeforeBulkDeleteEvent<>(getEntityType(), secureParams));
+        long deleted = super.deleteWhere(secureParams);
+        eventPublisher.publish(
+                new SecureRepositoryBulkEvent.AfterBulkDeleteEvent<>(getEntityType(), secureParams, deleted));
+        return deleted;
     }
 
     @Override
@@ -272,6 +401,28 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
         throw new SecureDataException("Bulk deleteAll() is not supported for secure repositories");
     }
 
+    private boolean existsInTenant(FilterCriteria criteria) {
+        SecureEntityMetadata<T> metadata = metadataCache.get(getEntityType());
+        if (metadata.isEnabled()) {
+            validateReadAccess(metadata);
+        }
+        return super.exists(restrictToTenant(List.of(criteria), metadata));
+    }
+
+    // Same rule as validateTenantAccess: rows have to belong to the current tenant, even if the tenant is optional
+    private SearchParams restrictToTenant(List<FilterCriteria> criteria, SecureEntityMetadata<T> metadata) {
+        List<FilterCriteria> filters = new ArrayList<>(criteria);
+        if (metadata.isEnabled() && metadata.hasTenantField()) {
+            String tenantFieldName = metadata.getTenantField().getName();
+            UUID tenantId = securityContextProvider.getCurrentContext().getTenantId();
+            filters.add(
+                    tenantId != null
+                            ? FilterCriteria.eq(tenantFieldName, tenantId)
+                            : FilterCriteria.isNull(tenantFieldName));
+        }
+        return SearchParams.builder().filters(filters).build();
+    }
+
     private boolean validateTenantAccess(T entity, SecureEntityMetadata<T> metadata) {
         if (!metadata.hasTenantField()) {
             return true;
@@ -332,6 +483,13 @@ public abstract class SecureUuidRepositoryImpl<T extends HasUuid, ID> extends Fi
                 .size(params.getSize())
                 .sortField(params.getSortField())
                 .sortDirection(params.getSortDirection())
+                .sort(params.getSort())
+                .fields(params.getFields())
+                .keyset(params.isKeyset())
+                .cursor(params.getCursor())
+                .countMode(params.getCountMode())
+                .fetchSize(params.getFetchSize())
+                .timeout(params.getTimeout())
                 .build();
     }
 
@@ -0,0 +1,40 @@
+package io.preboot.securedata;
+
+import io.preboot.eventbus.EventHandler;
+import io.preboot.securedata.event.SecureRepositoryBulkEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BulkEventCollector {
+    private final List<SecureRepositoryBulkEvent<?>> events = new ArrayList<>();
+
+    @EventHandler
+    public void handleBeforeBulkUpdate(SecureRepositoryBulkEvent.BeforeBulkUpdateEvent<?> event) {
+        events.add(event);
+    }
+
+    @EventHandler
+    public void handleAfterBulkUpdate(SecureRepositoryBulkEvent.AfterBulkUpdateEvent<?> event) {
+        events.add(event);
+    }
+
+    @EventHandler
+    public void handleBeforeBulkDelete(SecureRepositoryBulkEvent.BeforeBulkDeleteEvent<?> event) {
+        events.add(event);
+    }
+
+    @EventHandler
+    public void handleAfterBulkDelete(SecureRepositoryBulkEvent.AfterBulkDeleteEvent<?> event) {
+        events.add(event);
+    }
+
+    public List<SecureRepositoryBulkEvent<?>> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
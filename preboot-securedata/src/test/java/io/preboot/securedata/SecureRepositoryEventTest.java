@@ -1,13 +1,17 @@
 package io.preboot.securedata;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import io.preboot.securedata.annotation.Tenant;
 import io.preboot.securedata.config.TestContainersConfig;
 import io.preboot.securedata.event.SecureRepositoryEvent;
+import io.preboot.securedata.exception.SecureDataException;
 import io.preboot.securedata.repository.SecureRepository;
 import io.preboot.securedata.repository.SecureRepositoryContext;
 import io.preboot.securedata.repository.SecureRepositoryImpl;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import lombok.Data;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +49,7 @@ class SecureRepositoryEventTest {
     private NoteEventCollector noteEventCollector;
 
     private static final UUID TENANT_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID TENANT_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
 
     @BeforeEach
     void setUp() {
@@ -168,6 +173,117 @@ class SecureRepositoryEventTest {
                         SecureRepositoryEvent.BeforeDeleteEvent.class, SecureRepositoryEvent.AfterDeleteEvent.class);
     }
 
+    @Test
+    void saveAll_ShouldPublishAllBeforeEventsThenAllAfterEventsInInputOrder() {
+        // Arrange
+        TestDocument existing = new TestDocument();
+        existing.setTitle("Existing");
+        existing = documentRepository.save(existing);
+        existing.setTitle("Existing Updated");
+        TestDocument created = new TestDocument();
+        created.setTitle("Created");
+        documentEventCollector.clear();
+
+        // Act
+        documentRepository.saveAll(List.of(created, existing));
+
+        // Assert
+        List<SecureRepositoryEvent<?>> events = documentEventCollector.getEvents();
+        assertThat(events)
+                .extracting("class")
+                .containsExactly(
+                        SecureRepositoryEvent.BeforeCreateEvent.class,
+                        SecureRepositoryEvent.BeforeUpdateEvent.class,
+                        SecureRepositoryEvent.AfterCreateEvent.class,
+                        SecureRepositoryEvent.AfterUpdateEvent.class);
+        assertThat(events)
+                .extracting(event -> ((TestDocument) event.getEntity()).getTitle())
+                .containsExactly("Created", "Existing Updated", "Created", "Existing Updated");
+        assertThat(((TestDocument) events.get(2).getEntity()).getId()).isNotNull();
+        assertThat(((TestDocument) events.get(3).getEntity()).getId()).isEqualTo(existing.getId());
+    }
+
+    @Test
+    void deleteAll_ShouldPublishAllBeforeEventsThenAllAfterEvents() {
+        // Arrange
+        List<TestDocument> documents = saveDocuments("First", "Second");
+        documentEventCollector.clear();
+
+        // Act
+        documentRepository.deleteAll(documents);
+
+        // Assert
+        assertDeleteEvents(documents);
+        assertThat(documentRepository.findAllById(ids(documents))).isEmpty();
+    }
+
+    @Test
+    void deleteAllById_ShouldPublishAllBeforeEventsThenAllAfterEvents() {
+        // Arrange
+        List<TestDocument> documents = saveDocuments("First", "Second");
+        documentEventCollector.clear();
+
+        // Act
+        documentRepository.deleteAllById(ids(documents));
+
+        // Assert
+        assertDeleteEvents(documents);
+        assertThat(documentRepository.findAllById(ids(documents))).isEmpty();
+    }
+
+    @Test
+    void deleteAll_WithForeignTenantEntityInBatch_ShouldRejectWholeBatchBeforeDeleting() {
+        // Arrange
+        securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_2));
+        TestDocument foreign = documentRepository.save(newDocument("Foreign"));
+        securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_1));
+        List<TestDocument> own = saveDocuments("First", "Second");
+        documentEventCollector.clear();
+
+        // Act & Assert
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() -> documentRepository.deleteAll(List.of(own.get(0), foreign, own.get(1))))
+                .withMessage("Access denied");
+        assertThat(documentEventCollector.getEvents()).isEmpty();
+        assertThat(documentRepository.findAllById(ids(own))).hasSize(2);
+        securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_2));
+        assertThat(documentRepository.findById(foreign.getId())).isPresent();
+    }
+
+    private List<TestDocument> saveDocuments(String... titles) {
+        List<TestDocument> documents = new ArrayList<>();
+        for (String title : titles) {
+            documents.add(documentRepository.save(newDocument(title)));
+        }
+        return documents;
+    }
+
+    private static TestDocument newDocument(String title) {
+        TestDocument document = new TestDocument();
+        document.setTitle(title);
+        return document;
+    }
+
+    private static List<Long> ids(List<TestDocument> documents) {
+        return documents.stream().map(TestDocument::getId).toList();
+    }
+
+    private void assertDeleteEvents(List<TestDocument> documents) {
+        List<SecureRepositoryEvent<?>> events = documentEventCollector.getEvents();
+        assertThat(events)
+                .extracting("class")
+                .containsExactly(
+                        SecureRepositoryEvent.BeforeDeleteEvent.class,
+                        SecureRepositoryEvent.BeforeDeleteEvent.class,
+                        SecureRepositoryEvent.AfterDeleteEvent.class,
+                        SecureRepositoryEvent.AfterDeleteEvent.class);
+        Long firstId = documents.get(0).getId();
+        Long secondId = documents.get(1).getId();
+        assertThat(events)
+                .extracting(event -> ((TestDocument) event.getEntity()).getId())
+                .containsExactly(firstId, secondId, firstId, secondId);
+    }
+
     @TestConfiguration
     static class TestEventConfig {
         @Bean
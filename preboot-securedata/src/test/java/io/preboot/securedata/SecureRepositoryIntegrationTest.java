@@ -3,17 +3,25 @@ package io.preboot.securedata;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import io.preboot.query.FilterCriteria;
 import io.preboot.query.SearchParams;
+import io.preboot.securedata.annotation.CreatedAt;
+import io.preboot.securedata.annotation.CreatedBy;
+import io.preboot.securedata.annotation.ModifiedAt;
+import io.preboot.securedata.annotation.ModifiedBy;
 import io.preboot.securedata.annotation.Tenant;
 import io.preboot.securedata.config.TestContainersConfig;
+import io.preboot.securedata.event.SecureRepositoryBulkEvent;
 import io.preboot.securedata.context.SecurityContext;
 import io.preboot.securedata.context.SecurityContextProvider;
 import io.preboot.securedata.exception.SecureDataException;
 import io.preboot.securedata.repository.SecureRepository;
 import io.preboot.securedata.repository.SecureRepositoryContext;
 import io.preboot.securedata.repository.SecureRepositoryImpl;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import lombok.Data;
@@ -23,6 +31,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
@@ -41,6 +50,9 @@ class SecureRepositoryIntegrationTest {
     @Autowired
     private TestSecurityContextHolder securityContextHolder;
 
+    @Autowired
+    private BulkEventCollector bulkEventCollector;
+
     private static final UUID TENANT_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
     private static final UUID TENANT_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
 
@@ -148,6 +160,113 @@ class SecureRepositoryIntegrationTest {
         documentRepository.deleteById(id);
         assertThat(documentRepository.findById(id)).isEmpty();
     }
+
+    @Test
+    void updateWhere_ShouldNotUpdateDocumentsOfOtherTenants() {
+        // Act: the filter targets the other tenant, the tenant constraint is added on top of it
+        long updated = documentRepository.updateWhere(
+                SearchParams.criteria(FilterCriteria.eq("tenantId", TENANT_2)).build(), Map.of("title", "Hijacked"));
+        long updatedOwn = documentRepository.updateWhere(SearchParams.empty(), Map.of("title", "Updated"));
+
+        // Assert
+        assertThat(updated).isZero();
+        assertThat(updatedOwn).isEqualTo(2);
+        securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_2));
+        assertThat(documentRepository.findAll(SearchParams.empty()).getContent())
+                .extracting(TestDocument::getTitle)
+                .containsExactlyInAnyOrder("Tenant 2 Document 1", "Tenant 2 Document 2");
+    }
+
+    @Test
+    void deleteWhere_ShouldNotDeleteDocumentsOfOtherTenants() {
+        // Act
+        long deleted = documentRepository.deleteWhere(
+                SearchParams.criteria(FilterCriteria.eq("tenantId", TENANT_2)).build());
+        long deletedOwn = documentRepository.deleteWhere(SearchParams.empty());
+
+        // Assert
+        assertThat(deleted).isZero();
+        assertThat(deletedOwn).isEqualTo(2);
+        assertThat(documentRepository.count(SearchParams.empty())).isZero();
+        securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_2));
+        assertThat(documentRepository.count(SearchParams.empty())).isEqualTo(2);
+    }
+
+    @Test
+    void updateWhere_WithTenantField_ShouldThrowException() {
+        // Act & Assert
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() -> documentRepository.updateWhere(SearchParams.empty(), Map.of("tenantId", TENANT_2)))
+                .withMessage("Tenant field cannot be updated");
+    }
+
+    @Test
+    void updateWhere_WithCreationAuditOrVersionField_ShouldThrowException() {
+        // Act & Assert
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() -> documentRepository.updateWhere(
+                        SearchParams.empty(), Map.of("createdBy", UUID.randomUUID())))
+                .withMessageContaining("createdBy");
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() ->
+                        documentRepository.updateWhere(SearchParams.empty(), Map.of("createdAt", Instant.now())))
+                .withMessageContaining("createdAt");
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() -> documentRepository.updateWhere(SearchParams.empty(), Map.of("version", 0L)))
+                .withMessageContaining("version");
+    }
+
+    @Test
+    void updateWhere_ShouldPopulateModificationAuditFields() {
+        // Arrange
+        Instant before = Instant.now().minusSeconds(1);
+
+        // Act
+        documentRepository.updateWhere(SearchParams.empty(), Map.of("title", "Updated"));
+
+        // Assert
+        assertThat(documentRepository.findAll(SearchParams.empty()).getContent())
+                .hasSize(2)
+                .allSatisfy(document -> {
+                    assertThat(document.getModifiedBy()).isNotNull();
+                    assertThat(document.getModifiedAt()).isAfter(before);
+                    assertThat(document.getCreatedBy()).isNull();
+                });
+    }
+
+    @Test
+    void bulkWrites_ShouldPublishEventsWithTenantRestrictedParams() {
+        // Arrange
+        FilterCriteria titleFilter = FilterCriteria.eq("title", "Tenant 1 Document 1");
+        FilterCriteria tenantFilter = FilterCriteria.eq("tenantId", TENANT_1);
+        bulkEventCollector.clear();
+
+        // Act
+        documentRepository.updateWhere(SearchParams.criteria(titleFilter).build(), Map.of("title", "Renamed"));
+        documentRepository.deleteWhere(
+                SearchParams.criteria(FilterCriteria.eq("title", "Renamed")).build());
+
+        // Assert
+        List<SecureRepositoryBulkEvent<?>> events = bulkEventCollector.getEvents();
+        assertThat(events)
+                .extracting("class")
+                .containsExactly(
+                        SecureRepositoryBulkEvent.BeforeBulkUpdateEvent.class,
+                        SecureRepositoryBulkEvent.AfterBulkUpdateEvent.class,
+                        SecureRepositoryBulkEvent.BeforeBulkDeleteEvent.class,
+                        SecureRepositoryBulkEvent.AfterBulkDeleteEvent.class);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getEntityType()).isEqualTo(TestDocument.class);
+            assertThat(event.getParams().getFilters()).contains(tenantFilter);
+        });
+        assertThat(events.get(0).getParams().getFilters()).contains(titleFilter);
+        var beforeUpdate = (SecureRepositoryBulkEvent.BeforeBulkUpdateEvent<?>) events.get(0);
+        assertThat(beforeUpdate.values()).containsKeys("title", "modifiedBy", "modifiedAt");
+        var afterUpdate = (SecureRepositoryBulkEvent.AfterBulkUpdateEvent<?>) events.get(1);
+        assertThat(afterUpdate.affectedRows()).isEqualTo(1);
+        var afterDelete = (SecureRepositoryBulkEvent.AfterBulkDeleteEvent<?>) events.get(3);
+        assertThat(afterDelete.affectedRows()).isEqualTo(1);
+    }
 }
 
 @Table("secure_documents")
@@ -160,6 +279,21 @@ class TestDocument {
     private UUID tenantId;
 
     private String title;
+
+    @CreatedBy
+    private UUID createdBy;
+
+    @CreatedAt
+    private Instant createdAt;
+
+    @ModifiedBy
+    private UUID modifiedBy;
+
+    @ModifiedAt
+    private Instant modifiedAt;
+
+    @Version
+    private Long version;
 }
 
 interface TestDocumentRepository extends SecureRepository<TestDocument, Long> {}
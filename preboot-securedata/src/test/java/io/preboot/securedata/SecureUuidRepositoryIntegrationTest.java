@@ -3,15 +3,23 @@ package io.preboot.securedata;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import io.preboot.query.FilterCriteria;
 import io.preboot.query.HasUuid;
 import io.preboot.query.SearchParams;
+import io.preboot.securedata.annotation.CreatedAt;
+import io.preboot.securedata.annotation.CreatedBy;
+import io.preboot.securedata.annotation.ModifiedAt;
+import io.preboot.securedata.annotation.ModifiedBy;
 import io.preboot.securedata.annotation.Tenant;
 import io.preboot.securedata.config.TestContainersConfig;
+import io.preboot.securedata.event.SecureRepositoryBulkEvent;
 import io.preboot.securedata.exception.SecureDataException;
 import io.preboot.securedata.repository.SecureRepositoryContext;
 import io.preboot.securedata.repository.SecureUuidRepository;
 import io.preboot.securedata.repository.SecureUuidRepositoryImpl;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.Data;
@@ -21,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 import org.springframework.stereotype.Repository;
 import org.springframework.test.context.jdbc.Sql;
@@ -38,6 +47,9 @@ class SecureUuidRepositoryIntegrationTest {
     @Autowired
     private TestSecurityContextHolder securityContextHolder;
 
+    @Autowired
+    private BulkEventCollector bulkEventCollector;
+
     private static final UUID TENANT_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
     private static final UUID TENANT_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
 
@@ -165,6 +177,113 @@ class SecureUuidRepositoryIntegrationTest {
         securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_2));
         assertThat(documentRepository.existsByUuid(uuid)).isFalse();
     }
+
+    @Test
+    void updateWhere_ShouldNotUpdateDocumentsOfOtherTenants() {
+        // Act: the filter targets the other tenant, the tenant constraint is added on top of it
+        long updated = documentRepository.updateWhere(
+                SearchParams.criteria(FilterCriteria.eq("tenantId", TENANT_2)).build(), Map.of("title", "Hijacked"));
+        long updatedOwn = documentRepository.updateWhere(SearchParams.empty(), Map.of("title", "Updated"));
+
+        // Assert
+        assertThat(updated).isZero();
+        assertThat(updatedOwn).isEqualTo(2);
+        securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_2));
+        assertThat(documentRepository.findAll(SearchParams.empty()).getContent())
+                .extracting(TestUuidDocument::getTitle)
+                .containsExactlyInAnyOrder("Tenant 2 UUID Document 1", "Tenant 2 UUID Document 2");
+    }
+
+    @Test
+    void deleteWhere_ShouldNotDeleteDocumentsOfOtherTenants() {
+        // Act
+        long deleted = documentRepository.deleteWhere(
+                SearchParams.criteria(FilterCriteria.eq("tenantId", TENANT_2)).build());
+        long deletedOwn = documentRepository.deleteWhere(SearchParams.empty());
+
+        // Assert
+        assertThat(deleted).isZero();
+        assertThat(deletedOwn).isEqualTo(2);
+        assertThat(documentRepository.count(SearchParams.empty())).isZero();
+        securityContextHolder.setCurrentContext(new TestSecurityContext(TENANT_2));
+        assertThat(documentRepository.count(SearchParams.empty())).isEqualTo(2);
+    }
+
+    @Test
+    void updateWhere_WithTenantField_ShouldThrowException() {
+        // Act & Assert
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() -> documentRepository.updateWhere(SearchParams.empty(), Map.of("tenantId", TENANT_2)))
+                .withMessage("Tenant field cannot be updated");
+    }
+
+    @Test
+    void updateWhere_WithCreationAuditOrVersionField_ShouldThrowException() {
+        // Act & Assert
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() -> documentRepository.updateWhere(
+                        SearchParams.empty(), Map.of("createdBy", UUID.randomUUID())))
+                .withMessageContaining("createdBy");
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() ->
+                        documentRepository.updateWhere(SearchParams.empty(), Map.of("createdAt", Instant.now())))
+                .withMessageContaining("createdAt");
+        assertThatExceptionOfType(SecureDataException.class)
+                .isThrownBy(() -> documentRepository.updateWhere(SearchParams.empty(), Map.of("version", 0L)))
+                .withMessageContaining("version");
+    }
+
+    @Test
+    void updateWhere_ShouldPopulateModificationAuditFields() {
+        // Arrange
+        Instant before = Instant.now().minusSeconds(1);
+
+        // Act
+        documentRepository.updateWhere(SearchParams.empty(), Map.of("title", "Updated"));
+
+        // Assert
+        assertThat(documentRepository.findAll(SearchParams.empty()).getContent())
+                .hasSize(2)
+                .allSatisfy(document -> {
+                    assertThat(document.getModifiedBy()).isNotNull();
+                    assertThat(document.getModifiedAt()).isAfter(before);
+                    assertThat(document.getCreatedBy()).isNull();
+                });
+    }
+
+    @Test
+    void bulkWrites_ShouldPublishEventsWithTenantRestrictedParams() {
+        // Arrange
+        FilterCriteria titleFilter = FilterCriteria.eq("title", "Tenant 1 UUID Document 1");
+        FilterCriteria tenantFilter = FilterCriteria.eq("tenantId", TENANT_1);
+        bulkEventCollector.clear();
+
+        // Act
+        documentRepository.updateWhere(SearchParams.criteria(titleFilter).build(), Map.of("title", "Renamed"));
+        documentRepository.deleteWhere(
+                SearchParams.criteria(FilterCriteria.eq("title", "Renamed")).build());
+
+        // Assert
+        List<SecureRepositoryBulkEvent<?>> events = bulkEventCollector.getEvents();
+        assertThat(events)
+                .extracting("class")
+                .containsExactly(
+                        SecureRepositoryBulkEvent.BeforeBulkUpdateEvent.class,
+                        SecureRepositoryBulkEvent.AfterBulkUpdateEvent.class,
+                        SecureRepositoryBulkEvent.BeforeBulkDeleteEvent.class,
+                        SecureRepositoryBulkEvent.AfterBulkDeleteEvent.class);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getEntityType()).isEqualTo(TestUuidDocument.class);
+            assertThat(event.getParams().getFilters()).contains(tenantFilter);
+        });
+        assertThat(events.get(0).getParams().getFilters()).contains(titleFilter);
+        var beforeUpdate = (SecureRepositoryBulkEvent.BeforeBulkUpdateEvent<?>) events.get(0);
+        assertThat(beforeUpdate.values()).containsKeys("title", "modifiedBy", "modifiedAt");
+        var afterUpdate = (SecureRepositoryBulkEvent.AfterBulkUpdateEvent<?>) events.get(1);
+        assertThat(afterUpdate.affectedRows()).isEqualTo(1);
+        var afterDelete = (SecureRepositoryBulkEvent.AfterBulkDeleteEvent<?>) events.get(3);
+        assertThat(afterDelete.affectedRows()).isEqualTo(1);
+    }
 }
 
 @Table("secure_uuid_documents")
@@ -179,6 +298,21 @@ class TestUuidDocument implements HasUuid {
     private UUID tenantId;
 
     private String title;
+
+    @CreatedBy
+    private UUID createdBy;
+
+    @CreatedAt
+    private Instant createdAt;
+
+    @ModifiedBy
+    private UUID modifiedBy;
+
+    @ModifiedAt
+    private Instant modifiedAt;
+
+    @Version
+    private Long version;
 }
 
 interface TestUuidDocumentRepository extends SecureUuidRepository<TestUuidDocument, Long> {}
@@ -1,8 +1,13 @@
 CREATE TABLE IF NOT EXISTS secure_documents
 (
-    id        BIGSERIAL PRIMARY KEY,
-    tenant_id UUID         NOT NULL,
-    title     VARCHAR(255) NOT NULL
+    id          BIGSERIAL PRIMARY KEY,
+    tenant_id   UUID         NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    created_by  UUID,
+    created_at  TIMESTAMP WITH TIME ZONE,
+    modified_by UUID,
+    modified_at TIMESTAMP WITH TIME ZONE,
+    version     BIGINT       NOT NULL DEFAULT 0
 );
 
 -- Test data for tenant 1
@@ -35,10 +40,15 @@ VALUES ('22222222-2222-2222-2222-222222222222', 'Tenant 2 Note 1'),
 
 CREATE TABLE IF NOT EXISTS secure_uuid_documents
 (
-    id        BIGSERIAL PRIMARY KEY,
-    uuid      UUID         NOT NULL,
-    tenant_id UUID         NOT NULL,
-    title     VARCHAR(255) NOT NULL
+    id          BIGSERIAL PRIMARY KEY,
+    uuid        UUID         NOT NULL,
+    tenant_id   UUID         NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    created_by  UUID,
+    created_at  TIMESTAMP WITH TIME ZONE,
+    modified_by UUID,
+    modified_at TIMESTAMP WITH TIME ZONE,
+    version     BIGINT       NOT NULL DEFAULT 0
 );
 
 -- Test data for tenant 1